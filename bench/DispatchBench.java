@@ -0,0 +1,58 @@
+import com.neutron.engine.GameCore;
+import com.neutron.engine.ObjectHandler;
+import com.neutron.engine.base.GameObject;
+import com.neutron.engine.base.interfaces.MouseMovement;
+
+import java.awt.*;
+import java.awt.event.MouseEvent;
+
+/**
+ * Time to dispatch 1000 queued mouse moves to the 200 {@link MouseMovement} objects among 2000, through
+ * the typed {@link ObjectHandler#queueInterfaceUpdate(Class, java.util.function.Consumer)} and through the
+ * deprecated reflective overload it replaced.
+ */
+public class DispatchBench {
+
+    private static final int EVENTS = 1000;
+    private static long moved;
+
+    private static class Plain extends GameObject {
+        @Override
+        public void play(GameCore gameCore) {}
+
+        @Override
+        public void update(GameCore gameCore, float delta) {}
+    }
+
+    private static class Listener extends Plain implements MouseMovement {
+        @Override
+        public void mouseMoved(MouseEvent e, Integer x, Integer y, Boolean offScreen) {
+            moved += x;
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    public static void main(String[] args) {
+        for (int i = 0; i < 2000; i++) {
+            if (i % 10 == 0) new Listener();
+            else new Plain();
+        }
+        ObjectHandler.updateObjects(null, 1f);
+        MouseEvent e = new MouseEvent(new Canvas(), MouseEvent.MOUSE_MOVED, 0, 0, 10, 20, 0, false);
+
+        double reflective = Measure.millisPerRun(() -> {
+            for (int i = 0; i < EVENTS; i++) {
+                ObjectHandler.queueInterfaceUpdate(MouseMovement.class, "mouseMoved", e, 10, 20, false);
+            }
+            ObjectHandler.updateObjects(null, 1f);
+        }, 3, 5, 1);
+        double typed = Measure.millisPerRun(() -> {
+            for (int i = 0; i < EVENTS; i++) {
+                ObjectHandler.queueInterfaceUpdate(MouseMovement.class, m -> m.mouseMoved(e, 10, 20, false));
+            }
+            ObjectHandler.updateObjects(null, 1f);
+        }, 3, 5, 1);
+        System.out.printf("%d mouse moves to 200 of 2000 objects: reflective %.2f ms, typed %.2f ms%n",
+                EVENTS, reflective, typed);
+    }
+}
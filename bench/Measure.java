@@ -0,0 +1,52 @@
+import com.sun.management.ThreadMXBean;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Per-run allocation and time of a piece of engine work on the current thread, for the benchmarks in this
+ * directory. Each measurement warms up first and then keeps the best of several rounds, so a stray GC or
+ * JIT compilation does not count.
+ */
+final class Measure {
+
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static boolean failed;
+
+    private Measure() {}
+
+    /** Fewest bytes allocated by one run of {@code run}, over {@code rounds} rounds of {@code runs} runs each. */
+    static long bytesPerRun(Runnable run, int warmup, int rounds, int runs) {
+        for (int i = 0; i < warmup; i++) run.run();
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < rounds; round++) {
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < runs; i++) run.run();
+            best = Math.min(best, (THREADS.getCurrentThreadAllocatedBytes() - before) / runs);
+        }
+        return best;
+    }
+
+    /** Fewest milliseconds taken by one run of {@code run}, over {@code rounds} rounds of {@code runs} runs each. */
+    static double millisPerRun(Runnable run, int warmup, int rounds, int runs) {
+        for (int i = 0; i < warmup; i++) run.run();
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < rounds; round++) {
+            long before = System.nanoTime();
+            for (int i = 0; i < runs; i++) run.run();
+            best = Math.min(best, (System.nanoTime() - before) / runs);
+        }
+        return best / 1_000_000.0;
+    }
+
+    /** Prints the allocation and records a failure if it is above {@code limit} bytes. */
+    static void report(String what, long bytes, long limit) {
+        boolean ok = bytes <= limit;
+        System.out.printf("%-40s %,12d bytes%s%n", what, bytes, ok ? "" : "  (limit " + limit + ")");
+        if (!ok) failed = true;
+    }
+
+    /** Exits with status 1 if any {@link #report} was over its limit. */
+    static void exit() {
+        System.exit(failed ? 1 : 0);
+    }
+}
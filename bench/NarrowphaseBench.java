@@ -0,0 +1,90 @@
+import com.neutron.engine.CollisionManager;
+import com.neutron.engine.GameCore;
+import com.neutron.engine.ObjectHandler;
+import com.neutron.engine.base.GameObject;
+import com.neutron.engine.base.interfaces.Collidable;
+import com.neutron.engine.func.Collider;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Allocation of one collision tick with 3000 overlapping static tiles of two colliders each. Once the
+ * collision bodies' buffers have grown, a tick should allocate nothing; exits with status 1 if it does.
+ */
+public class NarrowphaseBench {
+
+    private static class Tile extends GameObject implements Collidable {
+        private final int x, y;
+        private final List<Collider> colliders;
+
+        Tile(int x, int y) {
+            this.x = x;
+            this.y = y;
+            colliders = List.of(new Collider.RectangleCollider(0, 0, 50, 25, "ground"),
+                    new Collider.RectangleCollider(0, 25, 50, 25, "death"));
+        }
+
+        @Override
+        public void play(GameCore gameCore) {}
+
+        @Override
+        public void update(GameCore gameCore, float delta) {}
+
+        @Override
+        public List<Collider> getColliders() {
+            return colliders;
+        }
+
+        @Override
+        public Integer getX() {
+            return x;
+        }
+
+        @Override
+        public Integer getY() {
+            return y;
+        }
+
+        @Override
+        public int x() {
+            return x;
+        }
+
+        @Override
+        public int y() {
+            return y;
+        }
+
+        @Override
+        public Float getVx() {
+            return 0f;
+        }
+
+        @Override
+        public Float getVy() {
+            return 0f;
+        }
+
+        @Override
+        public float vx() {
+            return 0;
+        }
+
+        @Override
+        public float vy() {
+            return 0;
+        }
+    }
+
+    public static void main(String[] args) {
+        Random random = new Random(1);
+        for (int i = 0; i < 3000; i++) new Tile(random.nextInt(3000), random.nextInt(600));
+        ObjectHandler.updateObjects(null, 1f);
+
+        long bytes = Measure.bytesPerRun(() -> CollisionManager.checkCollisions(1f), 300, 8, 50);
+        System.out.println("3000 overlapping tiles, " + CollisionManager.getCandidatePairCount() + " candidate pairs");
+        Measure.report("collision tick", bytes, 0);
+        Measure.exit();
+    }
+}
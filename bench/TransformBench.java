@@ -0,0 +1,154 @@
+import com.neutron.engine.CollisionManager;
+import com.neutron.engine.GameCore;
+import com.neutron.engine.ObjectHandler;
+import com.neutron.engine.Renderer;
+import com.neutron.engine.base.GameObject;
+import com.neutron.engine.base.interfaces.Collidable;
+import com.neutron.engine.base.interfaces.ObjectRenderer;
+import com.neutron.engine.base.interfaces.Transform;
+import com.neutron.engine.func.Collider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Allocation of one frame with 10k moving collidable renderers: an update, a collision tick and the
+ * transform reads of rendering. Run once with objects that only have the boxed getters and once with
+ * objects that also override the primitive accessors; exits with status 1 if the primitive frame
+ * allocates more than a few KB.
+ * <p>
+ * With the JIT's escape analysis the boxed getters often inline away as well. Run with
+ * {@code -XX:-DoEscapeAnalysis} to see what call sites that do not inline cost.
+ */
+public class TransformBench {
+
+    private static final int OBJECTS = 10_000;
+    private static double sink;
+
+    private static class Boxed extends GameObject implements Collidable, ObjectRenderer {
+        protected float x, y;
+        protected final float vx = -1;
+        private final List<Collider> colliders = List.of(new Collider.RectangleCollider(0, 0, 50, 50, "ground"));
+
+        Boxed(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public void play(GameCore gameCore) {}
+
+        @Override
+        public void update(GameCore gameCore, float delta) {
+            x += vx * delta;
+            if (x < 0) x += 5000;
+        }
+
+        @Override
+        public void render(GameCore gameCore, Renderer r) {}
+
+        @Override
+        public int getZDepth() {
+            return 0;
+        }
+
+        @Override
+        public List<Collider> getColliders() {
+            return colliders;
+        }
+
+        @Override
+        public Integer getX() {
+            return (int) x;
+        }
+
+        @Override
+        public Integer getY() {
+            return (int) y;
+        }
+
+        @Override
+        public Float getVx() {
+            return vx;
+        }
+
+        @Override
+        public Float getVy() {
+            return 0f;
+        }
+
+        @Override
+        public Double getScale() {
+            return 1.5;
+        }
+
+        @Override
+        public Double getPivotX() {
+            return 25d;
+        }
+    }
+
+    private static class Primitive extends Boxed {
+        Primitive(int x, int y) {
+            super(x, y);
+        }
+
+        @Override
+        public int x() {
+            return (int) x;
+        }
+
+        @Override
+        public int y() {
+            return (int) y;
+        }
+
+        @Override
+        public float vx() {
+            return vx;
+        }
+
+        @Override
+        public float vy() {
+            return 0;
+        }
+
+        @Override
+        public double scale() {
+            return 1.5;
+        }
+
+        @Override
+        public double pivotX() {
+            return 25;
+        }
+    }
+
+    private static long frameBytes(boolean primitive) {
+        Random random = new Random(1);
+        List<Boxed> objects = new ArrayList<>();
+        for (int i = 0; i < OBJECTS; i++) {
+            int x = random.nextInt(5000), y = 200 + random.nextInt(5000);
+            objects.add(primitive ? new Primitive(x, y) : new Boxed(x, y));
+        }
+        long bytes = Measure.bytesPerRun(() -> {
+            ObjectHandler.updateObjects(null, 1f);
+            CollisionManager.checkCollisions(1f);
+            // The reads ObjectHandler.renderObjects makes per object
+            for (int i = 0; i < objects.size(); i++) {
+                Transform t = objects.get(i);
+                sink += t.x() + t.y() + t.scale() + t.rotation() + t.pivotX() + t.pivotY();
+            }
+        }, 200, 6, 20);
+        for (Boxed object : objects) ObjectHandler.remove(object);
+        ObjectHandler.updateObjects(null, 1f);
+        return bytes;
+    }
+
+    public static void main(String[] args) {
+        Measure.report("frame, boxed getters only", frameBytes(false), Long.MAX_VALUE);
+        Measure.report("frame, primitive accessors", frameBytes(true), 4096);
+        Measure.exit();
+    }
+}
@@ -0,0 +1,317 @@
+package com.neutron.engine;
+
+import com.neutron.engine.base.GameObject;
+import com.neutron.engine.base.interfaces.AlwaysUpdate;
+import com.neutron.engine.base.interfaces.ParallelUpdate;
+import com.neutron.engine.base.interfaces.Transform;
+import com.neutron.engine.collision.LongMap;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Update culling for a {@link com.neutron.engine.base.Scene}. Objects with a {@link Transform} are bucketed
+ * into square cells by position; only those in cells overlapping the view plus a margin are awake and
+ * updated every tick. The others are dormant: frozen, or updated every few ticks with the time they
+ * missed. Per tick the work is the awake objects plus the cells that enter or leave the region, so a
+ * large world costs about what is near the view. Objects without a transform, and {@link AlwaysUpdate}
+ * ones, are always awake.
+ */
+final class ActiveRegion {
+
+    static final int CELL_SIZE = 256;
+
+    private static final Comparator<Entry> BY_ID = Comparator.comparingLong(e -> e.object.getId());
+
+    private static final class Entry {
+        final GameObject object;
+        final Transform transform; // null: always awake
+        Cell cell;
+        int cellIndex;
+        boolean awake, inAwakeList, removed, catchUp;
+        double lastUpdate;
+
+        Entry(GameObject object, Transform transform) {
+            this.object = object;
+            this.transform = transform;
+        }
+    }
+
+    private static final class Cell {
+        long key;
+        Entry[] entries = new Entry[8];
+        int size;
+
+        void add(Entry e) {
+            if (size == entries.length) entries = Arrays.copyOf(entries, size * 2);
+            e.cell = this;
+            e.cellIndex = size;
+            entries[size++] = e;
+        }
+
+        void remove(Entry e) {
+            Entry last = entries[--size];
+            entries[e.cellIndex] = last;
+            last.cellIndex = e.cellIndex;
+            entries[size] = null;
+            e.cell = null;
+        }
+    }
+
+    private final LongMap<Cell> cells = new LongMap<>(); // occupied cells only
+    private final ArrayDeque<Cell> freeCells = new ArrayDeque<>();
+    private final LongMap<Entry> entries = new LongMap<>();
+    private final ArrayList<Entry> all = new ArrayList<>();     // in add order, for the dormant pass
+    private final ArrayList<Entry> awakeList = new ArrayList<>(); // sorted by id when iterated
+    private boolean awakeStale, awakeUnsorted, allStale;
+
+    private boolean hasRegion;
+    private int minCX, minCY, maxCX, maxCY;
+
+    private double margin;
+    private int dormantInterval;
+    private long tick;
+    private double clock;
+
+    void configure(double margin, int dormantInterval) {
+        this.margin = margin;
+        this.dormantInterval = dormantInterval;
+    }
+
+    int awakeCount() {
+        int n = 0;
+        for (int i = 0; i < awakeList.size(); i++) {
+            Entry e = awakeList.get(i);
+            if (e.awake && !e.removed) n++;
+        }
+        return n;
+    }
+
+    boolean isAwake(GameObject object) {
+        Entry e = entries.get(object.getId());
+        return e != null && e.awake;
+    }
+
+    void add(GameObject object) {
+        Transform transform = object instanceof Transform t && !(object instanceof AlwaysUpdate) ? t : null;
+        Entry e = new Entry(object, transform);
+        e.lastUpdate = clock;
+        entries.put(object.getId(), e);
+        all.add(e);
+        if (transform != null) cellFor(transform.x(), transform.y()).add(e);
+        if (transform == null || inRegion(e.cell)) wake(e, false);
+    }
+
+    void remove(GameObject object) {
+        Entry e = entries.remove(object.getId());
+        if (e == null) return;
+        e.removed = true;
+        e.awake = false;
+        if (e.cell != null) leaveCell(e);
+        awakeStale = true;
+        allStale = true;
+    }
+
+    /** Re-buckets an object that was moved without being updated, e.g. a dormant or pooled one. */
+    void moved(GameObject object) {
+        Entry e = entries.get(object.getId());
+        if (e != null && e.transform != null) relocate(e);
+    }
+
+    /** Sets the view the region is centred on, in world coordinates, and wakes or puts to sleep whole cells. */
+    void setView(double minX, double minY, double maxX, double maxY) {
+        int x0 = cellCoord(minX - margin), y0 = cellCoord(minY - margin);
+        int x1 = cellCoord(maxX + margin), y1 = cellCoord(maxY + margin);
+        if (hasRegion && x0 == minCX && y0 == minCY && x1 == maxCX && y1 == maxCY) return;
+
+        if (!hasRegion) {
+            hasRegion = true;
+            minCX = x0; minCY = y0; maxCX = x1; maxCY = y1;
+            for (int i = 0; i < all.size(); i++) {
+                Entry e = all.get(i);
+                if (e.removed || e.transform == null) continue;
+                if (inRegion(e.cell)) wake(e, false);
+                else sleep(e);
+            }
+            return;
+        }
+
+        int ox0 = minCX, oy0 = minCY, ox1 = maxCX, oy1 = maxCY;
+        minCX = x0; minCY = y0; maxCX = x1; maxCY = y1;
+        // Cells that left the region go to sleep, cells that entered it wake up
+        visitCells(ox0, oy0, ox1, oy1, false);
+        visitCells(x0, y0, x1, y1, true);
+    }
+
+    /**
+     * Updates the awake objects in id order. With {@code parallel}, {@link ParallelUpdate} objects are
+     * collected into {@code parallelObjects} instead, for the caller to update; call {@link #afterUpdate} next.
+     */
+    void update(GameCore gameCore, float delta, boolean parallel, List<GameObject> parallelObjects) {
+        tick++;
+        clock += delta;
+        if (awakeStale) compactAwake();
+        if (awakeUnsorted) {
+            awakeList.sort(BY_ID);
+            awakeUnsorted = false;
+        }
+
+        int n = awakeList.size();
+        for (int i = 0; i < n; i++) {
+            Entry e = awakeList.get(i);
+            if (!e.awake) continue;
+            GameObject object = e.object;
+            if (!object.isActive()) continue;
+            if (parallel && object instanceof ParallelUpdate) {
+                parallelObjects.add(object);
+                continue;
+            }
+            float d = e.catchUp ? (float) (clock - e.lastUpdate) : delta;
+            e.catchUp = false;
+            object.update(gameCore, d);
+        }
+    }
+
+    /** Moves awake objects that changed cells, then runs the dormant pass if one is due. */
+    void afterUpdate(GameCore gameCore) {
+        int n = awakeList.size();
+        for (int i = 0; i < n; i++) {
+            Entry e = awakeList.get(i);
+            if (!e.awake) continue;
+            e.lastUpdate = clock;
+            e.catchUp = false;
+            if (e.transform != null) relocate(e);
+        }
+
+        if (allStale) compactAll();
+        if (dormantInterval <= 0 || tick % dormantInterval != 0) return;
+        for (int i = 0; i < all.size(); i++) {
+            Entry e = all.get(i);
+            if (e.awake || e.removed || !e.object.isActive()) continue;
+            e.object.update(gameCore, (float) (clock - e.lastUpdate));
+            e.lastUpdate = clock;
+            relocate(e);
+        }
+    }
+
+    private void relocate(Entry e) {
+        long key = cellKey(cellCoord(e.transform.x()), cellCoord(e.transform.y()));
+        if (e.cell != null && e.cell.key == key) return;
+        if (e.cell != null) leaveCell(e);
+        Cell cell = cellAt(key);
+        cell.add(e);
+        boolean inside = inRegion(cell);
+        if (inside && !e.awake) wake(e, true);
+        else if (!inside && e.awake) sleep(e);
+    }
+
+    private void wake(Entry e, boolean catchUp) {
+        if (e.awake) return;
+        e.awake = true;
+        e.catchUp = catchUp && dormantInterval > 0;
+        if (!e.inAwakeList) {
+            e.inAwakeList = true;
+            awakeList.add(e);
+            awakeUnsorted = true;
+        }
+    }
+
+    private void sleep(Entry e) {
+        if (!e.awake) return;
+        e.awake = false;
+        awakeStale = true;
+    }
+
+    /** Removes {@code e} from its cell, and the cell from the map once it is empty. */
+    private void leaveCell(Entry e) {
+        Cell cell = e.cell;
+        cell.remove(e);
+        if (cell.size == 0) {
+            cells.remove(cell.key);
+            freeCells.push(cell);
+        }
+    }
+
+    private void compactAwake() {
+        int kept = 0;
+        for (int i = 0; i < awakeList.size(); i++) {
+            Entry e = awakeList.get(i);
+            if (e.awake && !e.removed) awakeList.set(kept++, e);
+            else e.inAwakeList = false;
+        }
+        while (awakeList.size() > kept) awakeList.remove(awakeList.size() - 1);
+        awakeStale = false;
+    }
+
+    private void compactAll() {
+        int kept = 0;
+        for (int i = 0; i < all.size(); i++) {
+            Entry e = all.get(i);
+            if (!e.removed) all.set(kept++, e);
+        }
+        while (all.size() > kept) all.remove(all.size() - 1);
+        allStale = false;
+    }
+
+    /**
+     * Wakes ({@code entering}) the entries of every occupied cell in the given rectangle that is inside the
+     * region, or puts to sleep those outside it. Walks the rectangle, or the occupied cells if there are fewer.
+     */
+    private void visitCells(int x0, int y0, int x1, int y1, boolean entering) {
+        long area = ((long) x1 - x0 + 1) * ((long) y1 - y0 + 1);
+        if (area > cells.size()) {
+            for (int s = 0; s < cells.capacity(); s++) {
+                Cell cell = cells.valueAt(s);
+                if (cell == null) continue;
+                int cx = (int) (cell.key >> 32), cy = (int) cell.key;
+                if (cx >= x0 && cx <= x1 && cy >= y0 && cy <= y1) visit(cell, entering);
+            }
+            return;
+        }
+        for (long cx = x0; cx <= x1; cx++) {
+            for (long cy = y0; cy <= y1; cy++) {
+                Cell cell = cells.get(cellKey((int) cx, (int) cy));
+                if (cell != null) visit(cell, entering);
+            }
+        }
+    }
+
+    private void visit(Cell cell, boolean entering) {
+        if (inRegion(cell) != entering) return;
+        for (int i = 0; i < cell.size; i++) {
+            if (entering) wake(cell.entries[i], true);
+            else sleep(cell.entries[i]);
+        }
+    }
+
+    private boolean inRegion(Cell cell) {
+        if (!hasRegion) return true;
+        int cx = (int) (cell.key >> 32), cy = (int) cell.key;
+        return cx >= minCX && cx <= maxCX && cy >= minCY && cy <= maxCY;
+    }
+
+    private Cell cellFor(int x, int y) {
+        return cellAt(cellKey(cellCoord(x), cellCoord(y)));
+    }
+
+    private Cell cellAt(long key) {
+        Cell cell = cells.get(key);
+        if (cell == null) {
+            cell = freeCells.isEmpty() ? new Cell() : freeCells.pop();
+            cell.key = key;
+            cells.put(key, cell);
+        }
+        return cell;
+    }
+
+    private static int cellCoord(double v) {
+        return (int) Math.floor(v / CELL_SIZE);
+    }
+
+    private static long cellKey(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+}
@@ -2,8 +2,12 @@ package com.neutron.engine;
 
 import com.neutron.engine.base.GameObject;
 import com.neutron.engine.base.interfaces.Collidable;
-import com.neutron.engine.base.interfaces.Movable;
-import com.neutron.engine.base.interfaces.Transform;
+import com.neutron.engine.collision.Broadphase;
+import com.neutron.engine.collision.CollisionBody;
+import com.neutron.engine.collision.Narrowphase;
+import com.neutron.engine.collision.PairCache;
+import com.neutron.engine.collision.SpatialHashBroadphase;
+import com.neutron.engine.collision.TimeOfImpact;
 import com.neutron.engine.func.Collider;
 import com.neutron.engine.func.Collider.CircleCollider;
 import com.neutron.engine.func.Collider.RectangleCollider;
@@ -13,32 +17,330 @@ import java.util.*;
 
 /**
  * A collision manager that does:
+ *  - Broadphase culling of candidate pairs (spatial hash by default, see {@link #setBroadphase})
+ *  - No tests between two static collidables (see {@link Collidable#isStatic()}), and sleeping
+ *    collidables that count as static until they move (see {@link #setSleepAfter})
+ *  - Layer/mask filtering before any geometry (see {@link Collidable#getCollisionLayer()})
  *  - Discrete intersection for all shapes
- *  - Swept‐AABB for fast RectangleCollider vs. RectangleCollider
+ *  - Continuous time of impact on the relative motion for every shape pair, so fast colliders do not
+ *    tunnel (see {@link Collidable#onContact})
+ * The narrowphase works on world-space colliders cached per body once per tick and tracks
+ * contacts in primitive-keyed pair caches, so a steady-state tick does not allocate.
  */
 public class CollisionManager {
-    private static final List<Collidable> collidables = new ArrayList<>();
-    private static final Set<CollisionPair> prev = new HashSet<>();
-    private static final Set<CollisionPair> curr = new HashSet<>();
+    private static State state = new State();
+    private static List<CollisionBody> bodies = state.bodies;
+    private static Map<Collidable, CollisionBody> bodiesByCollidable = state.bodiesByCollidable;
+    private static PairCache prev = state.prev;
+    private static PairCache curr = state.curr;
+
+    private static Broadphase broadphase = new SpatialHashBroadphase();
+    private static final Narrowphase narrowphase = new Narrowphase();
+    private static final Broadphase.PairCallback COLLECT_PAIR = narrowphase::add;
+    private static float tickDelta;
+    private static int sleepAfterTicks = 0;
+    private static int[] exitSlots = new int[64];
+    private static final Contact contact = new Contact();
+
+    // Query state, shared by the collectors below so a query does not allocate
+    private static final Broadphase.BodyCallback COLLECT_OVERLAP = CollisionManager::collectOverlap;
+    private static final Broadphase.BodyCallback COLLECT_RAY_HIT = CollisionManager::collectRayHit;
+    private static final float[] queryOut = new float[4];
+    private static boolean queryCircle;
+    private static double queryX, queryY, queryW, queryH;
+    private static float queryDx, queryDy;
+    private static int queryMask;
+    private static GameObject[] queryResults;
+    private static int queryCount;
+    private static CollisionBody rayBody;
+    private static int rayCollider;
+    private static float rayTime;
+    private static float rayNormalX, rayNormalY;
 
     public static void register(Collidable c) {
-        if (!collidables.contains(c)) collidables.add(c);
+        if (bodiesByCollidable.containsKey(c)) return;
+        CollisionBody body = new CollisionBody(c);
+        body.index = bodies.size();
+        bodies.add(body);
+        bodiesByCollidable.put(c, body);
+        broadphase.add(body);
     }
 
     public static void unregister(Collidable c) {
-        collidables.remove(c);
-        prev.removeIf(p -> p.has(c));
-        curr.removeIf(p -> p.has(c));
+        CollisionBody body = bodiesByCollidable.remove(c);
+        if (body == null) return;
+
+        // Swap-remove; callback order comes from the sorted narrowphase hits, not from this list
+        CollisionBody last = bodies.remove(bodies.size() - 1);
+        if (last != body) {
+            bodies.set(body.index, last);
+            last.index = body.index;
+        }
+        broadphase.remove(body);
+        prev.removeAll(body);
+        curr.removeAll(body);
+    }
+
+    /**
+     * The bodies and contacts of one scene's collidables; see {@link ObjectRegistry}. Only the loaded
+     * state is in the broadphase, which is refilled when another one is loaded.
+     */
+    static final class State {
+        final List<CollisionBody> bodies = new ArrayList<>();
+        final Map<Collidable, CollisionBody> bodiesByCollidable = new IdentityHashMap<>();
+        PairCache prev = new PairCache(0);
+        PairCache curr = new PairCache(1);
+    }
+
+    static State getState() {
+        return state;
+    }
+
+    /**
+     * Loads another scene's collision state. The bodies of the current one keep their contacts, without
+     * {@code onExit}, so loading it again carries on where it left off.
+     */
+    static void setState(State next) {
+        if (next == state) return;
+        state.prev = prev;
+        state.curr = curr;
+        broadphase.clear();
+        state = next;
+        bodies = next.bodies;
+        bodiesByCollidable = next.bodiesByCollidable;
+        prev = next.prev;
+        curr = next.curr;
+        for (int i = 0; i < bodies.size(); i++) broadphase.add(bodies.get(i));
+    }
+
+    /** Registers into the given state; one that is not loaded can be filled on another thread. */
+    static void register(State target, Collidable c) {
+        if (target == state) {
+            register(c);
+            return;
+        }
+        if (target.bodiesByCollidable.containsKey(c)) return;
+        CollisionBody body = new CollisionBody(c);
+        body.index = target.bodies.size();
+        target.bodies.add(body);
+        target.bodiesByCollidable.put(c, body);
+    }
+
+    static void unregister(State target, Collidable c) {
+        if (target == state) {
+            unregister(c);
+            return;
+        }
+        CollisionBody body = target.bodiesByCollidable.remove(c);
+        if (body == null) return;
+        CollisionBody last = target.bodies.remove(target.bodies.size() - 1);
+        if (last != body) {
+            target.bodies.set(body.index, last);
+            last.index = body.index;
+        }
+        target.prev.removeAll(body);
+        target.curr.removeAll(body);
     }
 
     public static void clear() {
-        collidables.clear();
+        bodies.clear();
+        bodiesByCollidable.clear();
+        broadphase.clear();
         prev.clear();
         curr.clear();
     }
 
+    /**
+     * Swaps the broadphase used to find candidate pairs. Registered collidables are moved over,
+     * so this can be called at any time, e.g. to compare against {@link com.neutron.engine.collision.BruteForceBroadphase}.
+     */
+    public static void setBroadphase(Broadphase newBroadphase) {
+        Objects.requireNonNull(newBroadphase, "Broadphase cannot be null");
+        broadphase.clear();
+        broadphase = newBroadphase;
+        broadphase.clear();
+        for (CollisionBody body : bodies) broadphase.add(body);
+    }
+
+    public static Broadphase getBroadphase() {
+        return broadphase;
+    }
+
+    /**
+     * Puts a non-static collidable to sleep once it has had no velocity and an unchanged transform
+     * for the given number of ticks; 0 (the default) disables sleeping. A sleeping collidable is
+     * treated as static and is not refreshed, and contacts between two sleeping or static collidables
+     * are kept as they were instead of being re-tested. It wakes up when its transform, velocity or
+     * collider list changes, or when one of its contacts starts or ends.
+     */
+    public static void setSleepAfter(int ticks) {
+        if (ticks < 0) throw new IllegalArgumentException("Ticks cannot be negative: " + ticks);
+        sleepAfterTicks = ticks;
+        if (ticks == 0) {
+            for (int i = 0; i < bodies.size(); i++) bodies.get(i).wake();
+        }
+    }
+
+    public static int getSleepAfter() {
+        return sleepAfterTicks;
+    }
+
+    public static boolean isSleeping(Collidable c) {
+        CollisionBody body = bodiesByCollidable.get(c);
+        return body != null && body.isSleeping();
+    }
+
+    /**
+     * Re-reads a static collidable's transform and colliders on the next tick, and wakes a sleeping
+     * one. Needed when a collider list is changed in place, since sleep only notices a different list.
+     */
+    public static void markMoved(Collidable c) {
+        CollisionBody body = bodiesByCollidable.get(c);
+        if (body != null) body.markMoved();
+    }
+
+    /** Number of pairs the broadphase handed to the narrowphase during the last tick. */
+    public static int getCandidatePairCount() {
+        return narrowphase.pairCount();
+    }
+
+    /**
+     * Spreads narrowphase tests over this many fork/join workers; 1 (the default) runs them on the
+     * calling thread. Callbacks always run on the calling thread in the same order, sorted by object
+     * ids, so results are identical for any thread count.
+     */
+    public static void setNarrowphaseThreads(int threads) {
+        narrowphase.setThreads(threads);
+    }
+
+    public static int getNarrowphaseThreads() {
+        return narrowphase.getThreads();
+    }
+
+    /**
+     * Writes the objects with a collider overlapping the box into {@code results} and returns how many
+     * were written, at most {@code results.length}, in no particular order.
+     * Only colliders whose layer matches {@code mask} count. Like all queries this sees colliders as of
+     * the last {@link #checkCollisions} and must be called from the game thread.
+     */
+    public static int overlapBox(double x, double y, double width, double height, int mask, GameObject[] results) {
+        return overlap(false, x, y, width, height, mask, results,
+                x, y, x + width, y + height);
+    }
+
+    /** Like {@link #overlapBox}, for a circle around (x, y). */
+    public static int overlapCircle(double x, double y, double radius, int mask, GameObject[] results) {
+        return overlap(true, x, y, radius, radius, mask, results,
+                x - radius, y - radius, x + radius, y + radius);
+    }
+
+    /** Like {@link #overlapBox}, for the objects under a single point. */
+    public static int overlapPoint(double x, double y, int mask, GameObject[] results) {
+        return overlapBox(x, y, 0, 0, mask, results);
+    }
+
+    /**
+     * Finds the closest collider along a ray of at most {@code maxDistance} from (x, y) in the
+     * direction (dirX, dirY), which does not need to be normalized. Fills {@code hit} and returns true
+     * if anything was hit; a ray starting inside a collider hits it at distance 0.
+     * Ties go to the lower object id, so the result does not depend on the broadphase.
+     */
+    public static boolean raycast(double x, double y, double dirX, double dirY, double maxDistance,
+                                  int mask, RaycastHit hit) {
+        double len = Math.sqrt(dirX * dirX + dirY * dirY);
+        if (len == 0) throw new IllegalArgumentException("Ray direction cannot be zero");
+        if (maxDistance < 0) throw new IllegalArgumentException("Max distance cannot be negative: " + maxDistance);
+
+        queryX = x;
+        queryY = y;
+        queryDx = (float) (dirX / len * maxDistance);
+        queryDy = (float) (dirY / len * maxDistance);
+        queryMask = mask;
+        rayBody = null;
+        broadphase.query(Math.min(x, x + queryDx), Math.min(y, y + queryDy),
+                Math.max(x, x + queryDx), Math.max(y, y + queryDy), COLLECT_RAY_HIT);
+        if (rayBody == null) return false;
+
+        hit.set(rayBody.object, rayBody.colliderIds[rayCollider], rayTime * maxDistance,
+                x + rayTime * queryDx, y + rayTime * queryDy, rayNormalX, rayNormalY);
+        rayBody = null;
+        return true;
+    }
+
+    private static int overlap(boolean circle, double x, double y, double w, double h, int mask,
+                               GameObject[] results, double minX, double minY, double maxX, double maxY) {
+        queryCircle = circle;
+        queryX = x;
+        queryY = y;
+        queryW = w;
+        queryH = h;
+        queryMask = mask;
+        queryResults = results;
+        queryCount = 0;
+        broadphase.query(minX, minY, maxX, maxY, COLLECT_OVERLAP);
+        queryResults = null;
+        return queryCount;
+    }
+
+    private static void collectOverlap(CollisionBody body) {
+        if (queryCount == queryResults.length || (body.layer & queryMask) == 0) return;
+        for (int i = 0; i < body.colliderCount; i++) {
+            if ((body.colliderLayer[i] & queryMask) == 0) continue;
+            double cx = body.colliderX[i], cy = body.colliderY[i];
+            double cw = body.colliderWidth[i], ch = body.colliderHeight[i];
+
+            boolean hit;
+            if (queryCircle) {
+                hit = body.circle[i]
+                        ? Collider.circlesIntersect(queryX, queryY, queryW, cx, cy, cw)
+                        : Collider.circleRectangleIntersect(queryX, queryY, queryW, cx, cy, cw, ch);
+            } else {
+                hit = body.circle[i]
+                        ? Collider.circleRectangleIntersect(cx, cy, cw, queryX, queryY, queryW, queryH)
+                        : Collider.rectanglesIntersect(queryX, queryY, queryW, queryH, cx, cy, cw, ch);
+            }
+            if (hit) {
+                queryResults[queryCount++] = body.object;
+                return;
+            }
+        }
+    }
+
+    private static void collectRayHit(CollisionBody body) {
+        if ((body.layer & queryMask) == 0) return;
+        for (int i = 0; i < body.colliderCount; i++) {
+            if ((body.colliderLayer[i] & queryMask) == 0) continue;
+            double cx = body.colliderX[i], cy = body.colliderY[i];
+            double cw = body.colliderWidth[i], ch = body.colliderHeight[i];
+
+            // The ray is a point swept along the segment
+            float t;
+            if (body.circle[i] ? Collider.circlesIntersect(queryX, queryY, 0, cx, cy, cw)
+                    : Collider.rectanglesIntersect(queryX, queryY, 0, 0, cx, cy, cw, ch)) {
+                t = 0;
+                float len = (float) Math.sqrt(queryDx * queryDx + queryDy * queryDy);
+                queryOut[1] = len == 0 ? 0 : -queryDx / len;
+                queryOut[2] = len == 0 ? 0 : -queryDy / len;
+            } else if (body.circle[i]) {
+                t = TimeOfImpact.circles(queryX, queryY, 0, queryDx, queryDy, cx, cy, cw, queryOut);
+            } else {
+                t = TimeOfImpact.rectangles(queryX, queryY, 0, 0, queryDx, queryDy, cx, cy, cw, ch, queryOut);
+            }
+            if (t == TimeOfImpact.MISS) continue;
+
+            if (rayBody == null || t < rayTime || (t == rayTime && body.id < rayBody.id)) {
+                rayBody = body;
+                rayCollider = i;
+                rayTime = t;
+                rayNormalX = queryOut[1];
+                rayNormalY = queryOut[2];
+            }
+        }
+    }
+
     public static void renderCollisionBoxes(Renderer r) {
-        for (Collidable c : collidables) {
+        for (CollisionBody body : bodies) {
+            Collidable c = body.collidable;
             Random rnd = new Random(c.hashCode());
             for (Collider collider : c.getColliders()) {
                 Color col = new Color(rnd.nextInt(106) + 150,
@@ -57,187 +359,91 @@ public class CollisionManager {
 
     public static void checkCollisions(float delta) {
         curr.clear();
-        Set<CollisionPair> done = new HashSet<>();
-
-        for (int i = 0; i < collidables.size(); i++) {
-            for (int j = i + 1; j < collidables.size(); j++) {
-                Collidable A = collidables.get(i);
-                Collidable B = collidables.get(j);
-                CollisionPair key = new CollisionPair(A, B);
-                if (done.contains(key)) continue;
-
-                Set<CollisionPair> collidingPairs = new HashSet<>();
-
-                for (Collider ca : A.getColliders()) {
-                    for (Collider cb : B.getColliders()) {
-                        if (ca == null || cb == null) continue;
-                        Collider gA = ca.globalize(A);
-                        Collider gB = cb.globalize(B);
-
-                        boolean intersects = false;
-
-                        // Case 1: fast swept‐AABB for two rectangles on Movables
-                        if (gA instanceof RectangleCollider ra &&
-                                gB instanceof RectangleCollider rb &&
-                                A instanceof Movable mA &&
-                                B instanceof Movable mB) {
-
-                            float dx = mA.getVx() * delta;
-                            float dy = mA.getVy() * delta;
-
-                            // 1. Discrete check
-                            if (ra.intersects(rb)) {
-                                intersects = true;
-                            }
-
-                            // 2. Swept‐AABB only if non‐trivial motion
-                            if (!intersects && (Math.abs(dx) > 1e-3f || Math.abs(dy) > 1e-3f)) {
-                                float minX = (float) Math.min(ra.x, ra.x + dx);
-                                float minY = (float) Math.min(ra.y, ra.y + dy);
-                                float  w   = (float) (ra.width  + Math.abs(dx));
-                                float  h   = (float) (ra.height + Math.abs(dy));
-
-                                RectangleCollider swept =
-                                        new RectangleCollider(minX, minY, w, h, ra.getId());
-
-                                if (swept.intersects(rb) && sweptAABB(ra, dx, dy, rb)) {
-                                    intersects = true;
-                                }
-                            }
-
-                        } else {
-                            // Case 2: any other combination → discrete
-                            if (gA.intersects(gB)) {
-                                intersects = true;
-                            }
-                        }
-
-                        if (intersects) {
-                            CollisionPair p = new CollisionPair(A, B, ca.getId(), cb.getId());
-                            collidingPairs.add(p);
-                        }
-                    }
-                }
+        tickDelta = delta;
 
-                if (!collidingPairs.isEmpty()) {
-                    done.add(key);
-                    for (CollisionPair p : collidingPairs) {
-                        curr.add(p);
-                        if (!prev.contains(p)) {
-                            p.objA().onEnter((GameObject)p.objB(), p.colliderIdB);
-                            p.objB().onEnter((GameObject)p.objA(), p.colliderIdA);
-                        }
-                    }
-                    A.duringCollision((GameObject)B, delta);
-                    B.duringCollision((GameObject)A, delta);
-                }
-            }
-        }
+        for (int i = 0; i < bodies.size(); i++) bodies.get(i).update(delta, sleepAfterTicks);
+        broadphase.update();
+        narrowphase.clear();
+        keepRestingContacts();
+        broadphase.findPairs(COLLECT_PAIR);
+        narrowphase.run();
 
-        // exit callbacks
-        for (CollisionPair p : prev) {
-            if (!curr.contains(p)) {
-                p.objA().onExit((GameObject)p.objB(), p.colliderIdB);
-                p.objB().onExit((GameObject)p.objA(), p.colliderIdA);
-            }
-        }
+        dispatchHits();
+        dispatchExits();
 
-        prev.clear();
-        prev.addAll(curr);
+        PairCache swap = prev;
+        prev = curr;
+        curr = swap;
     }
 
-    /** Narrow‐phase swept‐AABB test */
-    private static boolean sweptAABB(
-            RectangleCollider m, float dx, float dy, RectangleCollider t
-    ) {
-        float xEntry, yEntry, xExit, yExit;
-
-        // Handle zero velocity cases to avoid division by zero
-        if (Math.abs(dx) < 1e-6f) {
-            // No X movement - check if already overlapping on X axis
-            if (m.x + m.width <= t.x || m.x >= t.x + t.width) {
-                return false; // No X overlap, can never collide
-            }
-            xEntry = Float.NEGATIVE_INFINITY;
-            xExit = Float.POSITIVE_INFINITY;
-        } else if (dx > 0) {
-            xEntry = (float) ((t.x - (m.x + m.width)) / dx);
-            xExit  = (float) (((t.x + t.width) - m.x) / dx);
-        } else {
-            xEntry = (float) (((t.x + t.width) - m.x) / dx);
-            xExit  = (float) ((t.x - (m.x + m.width)) / dx);
+    /**
+     * The broadphase skips pairs of two static bodies, so contacts of sleeping bodies would end.
+     * Instead, the ones from last tick are handed to the narrowphase as they were.
+     */
+    private static void keepRestingContacts() {
+        if (sleepAfterTicks == 0) return;
+        for (int s = 0; s < prev.capacity(); s++) {
+            if (!prev.isUsed(s)) continue;
+            CollisionBody a = prev.bodyA(s), b = prev.bodyB(s);
+            if (!a.isStatic() || !b.isStatic()) continue;
+            narrowphase.keep(a, b, prev.colliderA(s), prev.colliderB(s),
+                    prev.time(s), prev.normalX(s), prev.normalY(s), prev.depth(s));
         }
+    }
 
-        if (Math.abs(dy) < 1e-6f) {
-            // No Y movement - check if already overlapping on Y axis
-            if (m.y + m.height <= t.y || m.y >= t.y + t.height) {
-                return false; // No Y overlap, can never collide
+    /** Enter, contact and during callbacks, in sorted pair order */
+    private static void dispatchHits() {
+        int n = narrowphase.hitCount();
+        for (int h = 0; h < n; h++) {
+            CollisionBody a = narrowphase.hitBodyA(h);
+            CollisionBody b = narrowphase.hitBodyB(h);
+            int i = narrowphase.hitColliderA(h);
+            int j = narrowphase.hitColliderB(h);
+
+            float t = narrowphase.hitTime(h), depth = narrowphase.hitDepth(h);
+            float nx = narrowphase.hitNormalX(h), ny = narrowphase.hitNormalY(h);
+            int slot = curr.add(a, b, i, j, a.colliderIds[i], b.colliderIds[j]);
+            if (slot >= 0) curr.setContact(slot, t, nx, ny, depth);
+
+            boolean first = !prev.contains(a, b, i, j);
+            if (first) {
+                a.wake();
+                b.wake();
+                a.collidable.onEnter(b.object, b.colliderIds[j]);
+                b.collidable.onEnter(a.object, a.colliderIds[i]);
             }
-            yEntry = Float.NEGATIVE_INFINITY;
-            yExit = Float.POSITIVE_INFINITY;
-        } else if (dy > 0) {
-            yEntry = (float) ((t.y - (m.y + m.height)) / dy);
-            yExit  = (float) (((t.y + t.height) - m.y) / dy);
-        } else {
-            yEntry = (float) (((t.y + t.height) - m.y) / dy);
-            yExit  = (float) ((t.y - (m.y + m.height)) / dy);
-        }
 
-        float entryTime = Math.max(xEntry, yEntry);
-        float exitTime  = Math.min(xExit,  yExit);
+            contact.set(a.colliderIds[i], b.colliderIds[j], depth, nx, ny, t, first);
+            a.collidable.onContact(b.object, contact);
+            contact.set(b.colliderIds[j], a.colliderIds[i], depth, -nx, -ny, t, first);
+            b.collidable.onContact(a.object, contact);
 
-        return entryTime <= exitTime && entryTime >= 0f && entryTime <= 1f;
-    }
-
-    private record CollisionPair(
-            Collidable objA,
-            Collidable objB,
-            String     colliderIdA,
-            String     colliderIdB
-    ) {
-        /** Convenience ctor for two-object key */
-        public CollisionPair(Collidable a, Collidable b) {
-            this(a, b, null, null);
-        }
-
-        /** Enforce ordering so (A,B) == (B,A) when IDs match */
-        private CollisionPair(
-                Collidable objA,
-                Collidable objB,
-                String     colliderIdA,
-                String     colliderIdB
-        ) {
-            if (objA.hashCode() <= objB.hashCode()) {
-                this.objA        = objA;
-                this.objB        = objB;
-                this.colliderIdA = colliderIdA;
-                this.colliderIdB = colliderIdB;
-            } else {
-                this.objA        = objB;
-                this.objB        = objA;
-                this.colliderIdA = colliderIdB;
-                this.colliderIdB = colliderIdA;
+            // duringCollision once per object pair, after its last collider hit
+            if (h + 1 == n || !narrowphase.samePair(h, h + 1)) {
+                a.collidable.duringCollision(b.object, tickDelta);
+                b.collidable.duringCollision(a.object, tickDelta);
             }
         }
+    }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (!(o instanceof CollisionPair that)) return false;
-            return Objects.equals(objA, that.objA)
-                    && Objects.equals(objB, that.objB)
-                    && Objects.equals(colliderIdA, that.colliderIdA)
-                    && Objects.equals(colliderIdB, that.colliderIdB);
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(objA, objB, colliderIdA, colliderIdB);
+    /** Exit callbacks, in sorted pair order so they don't depend on hash order */
+    private static void dispatchExits() {
+        int n = 0;
+        for (int s = 0; s < prev.capacity(); s++) {
+            if (!prev.isUsed(s) || curr.contains(prev.bodyA(s), prev.bodyB(s), prev.colliderA(s), prev.colliderB(s))) continue;
+            if (n == exitSlots.length) exitSlots = Arrays.copyOf(exitSlots, n * 2);
+            exitSlots[n++] = s;
         }
-
-        /** True if this pair involves the given object */
-        public boolean has(Collidable c) {
-            return objA.equals(c) || objB.equals(c);
+        prev.sort(exitSlots, n);
+
+        for (int k = 0; k < n; k++) {
+            int s = exitSlots[k];
+            CollisionBody a = prev.bodyA(s);
+            CollisionBody b = prev.bodyB(s);
+            a.wake();
+            b.wake();
+            a.collidable.onExit(b.object, prev.colliderIdB(s));
+            b.collidable.onExit(a.object, prev.colliderIdA(s));
         }
     }
 }
@@ -0,0 +1,82 @@
+package com.neutron.engine;
+
+import com.neutron.engine.base.GameObject;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Lock-free multi-producer queue of the structural changes ObjectHandler applies at the start of each update.
+ * Any thread can {@link #push} (the game loop, AWT input listeners, background loaders creating objects);
+ * only the update thread {@link #drain drains}. Pushing is one compare-and-set on a linked stack, and
+ * draining takes the whole stack with one swap and reverses it, so commands come out in push order.
+ */
+final class CommandBuffer {
+
+    static final class Command {
+        enum Kind { ADD, REMOVE, RELEASE, DISPATCH, TASK }
+
+        final Kind kind;
+        final GameObject object;
+        final Class<?> type;
+        final Consumer<?> event;
+        final Runnable task;
+        Command next;
+
+        private Command(Kind kind, GameObject object, Class<?> type, Consumer<?> event, Runnable task) {
+            this.kind = kind;
+            this.object = object;
+            this.type = type;
+            this.event = event;
+            this.task = task;
+        }
+
+        static Command add(GameObject object) {
+            return new Command(Kind.ADD, object, null, null, null);
+        }
+
+        static Command remove(GameObject object) {
+            return new Command(Kind.REMOVE, object, null, null, null);
+        }
+
+        static Command release(GameObject object) {
+            return new Command(Kind.RELEASE, object, null, null, null);
+        }
+
+        /** Calls {@code event} on every object of {@code type}. */
+        static <T> Command dispatch(Class<T> type, Consumer<? super T> event) {
+            return new Command(Kind.DISPATCH, null, type, event, null);
+        }
+
+        static Command task(Runnable task) {
+            return new Command(Kind.TASK, null, null, null, task);
+        }
+    }
+
+    private final AtomicReference<Command> head = new AtomicReference<>();
+
+    void push(Command command) {
+        Command h;
+        do {
+            h = head.get();
+            command.next = h;
+        } while (!head.compareAndSet(h, command));
+    }
+
+    /** Takes every command pushed so far, oldest first, as a list linked through {@code next}. */
+    Command drain() {
+        Command c = head.getAndSet(null);
+        Command oldest = null;
+        while (c != null) {
+            Command next = c.next;
+            c.next = oldest;
+            oldest = c;
+            c = next;
+        }
+        return oldest;
+    }
+
+    boolean isEmpty() {
+        return head.get() == null;
+    }
+}
@@ -0,0 +1,68 @@
+package com.neutron.engine;
+
+import com.neutron.engine.base.interfaces.Collidable;
+
+/**
+ * One collider-vs-collider contact, as seen from the collidable receiving
+ * {@link Collidable#onContact}. The CollisionManager reuses a single instance for every callback,
+ * so read what you need during the call and don't keep a reference to it.
+ */
+public final class Contact {
+    private String colliderId;
+    private String otherColliderId;
+    private float depth;
+    private float normalX, normalY;
+    private float time;
+    private boolean first;
+
+    Contact() {
+    }
+
+    void set(String colliderId, String otherColliderId, float depth, float normalX, float normalY,
+             float time, boolean first) {
+        this.colliderId = colliderId;
+        this.otherColliderId = otherColliderId;
+        this.depth = depth;
+        this.normalX = normalX;
+        this.normalY = normalY;
+        this.time = time;
+        this.first = first;
+    }
+
+    /** ID of this collidable's collider. */
+    public String getColliderId() {
+        return colliderId;
+    }
+
+    /** ID of the other collidable's collider. */
+    public String getOtherColliderId() {
+        return otherColliderId;
+    }
+
+    /**
+     * How far this collider has to move along the normal to separate. Negative for contacts found by
+     * sweeping, where it is the gap still to close before touching.
+     */
+    public float getDepth() {
+        return depth;
+    }
+
+    /** Unit contact normal, pointing from the other collider towards this one. */
+    public float getNormalX() {
+        return normalX;
+    }
+
+    public float getNormalY() {
+        return normalY;
+    }
+
+    /** Fraction of the tick at which the colliders touch; 0 if they already overlap. */
+    public float getTime() {
+        return time;
+    }
+
+    /** True on the tick the contact starts, i.e. together with {@link Collidable#onEnter}. */
+    public boolean isFirst() {
+        return first;
+    }
+}
@@ -0,0 +1,297 @@
+package com.neutron.engine;
+
+import com.neutron.engine.func.GraphicsFidelity;
+import com.neutron.engine.func.ScreenAnchor;
+import com.neutron.engine.func.Shader;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * One frame of {@link Renderer} calls recorded on the update thread, for {@link RenderPipeline} to draw on
+ * the render thread. Calls are stored as opcodes with their arguments in flat primitive and reference
+ * arrays that are reused from frame to frame, so neither recording nor replaying allocates once they
+ * have grown.
+ * Arguments are copied, so the list does not change when the objects that drew it do; referenced
+ * colors, images, fonts and shaders are drawn as they are when the render thread gets to them.
+ * <p>
+ * Object transforms are recorded with both the previous and the current value, and interpolated with
+ * the alpha of the frame that draws them.
+ */
+final class DrawList {
+
+    static final int FILL_RECT = 0, DRAW_RECT = 1, FILL_OVAL = 2, DRAW_OVAL = 3;
+    private static final int FILL_POLYGON = 4, DRAW_POLYGON = 5, LINE = 6, IMAGE = 7, TEXT = 8;
+    private static final int SHADE = 9, SHADE_LIGHT = 10, LIGHTMAP = 11;
+    private static final int ALPHA = 12, FONT = 13, LINE_WIDTH = 14, FIDELITY = 15;
+    private static final int SCREEN_COORDINATES = 16, ANCHOR = 17, CAMERA = 18;
+    private static final int BEGIN_OBJECT = 19, END_OBJECT = 20;
+
+    private int[] ops = new int[256];
+    private int[] ints = new int[1024];
+    private double[] doubles = new double[512];
+    private Object[] refs = new Object[256];
+    private int opCount, intCount, doubleCount, refCount;
+    private int[] polygonX = new int[16], polygonY = new int[16]; // replay
+
+    /** Set when the list is handed to the render thread; read by it to tell whether a list is newer. */
+    volatile long sequence;
+    private long publishedAt, tickNanos;
+    private double alpha;
+
+    void reset() {
+        Arrays.fill(refs, 0, refCount, null);
+        opCount = intCount = doubleCount = refCount = 0;
+    }
+
+    void publish(long sequence, long now, double alpha, long tickNanos) {
+        this.sequence = sequence;
+        this.publishedAt = now;
+        this.alpha = alpha;
+        this.tickNanos = tickNanos;
+    }
+
+    /** Interpolation alpha for a frame drawn at {@code now}: the alpha it was published with plus the time since. */
+    float alphaAt(long now) {
+        return (float) Math.min(1.0, alpha + (double) (now - publishedAt) / tickNanos);
+    }
+
+    void shape(int op, int x, int y, int w, int h, Color color) {
+        op(op);
+        ints(x, y, w, h);
+        ref(color);
+    }
+
+    void polygon(boolean fill, int[] xPoints, int[] yPoints, int nPoints, Color color) {
+        op(fill ? FILL_POLYGON : DRAW_POLYGON);
+        ensureInts(nPoints * 2 + 1);
+        ints[intCount++] = nPoints;
+        System.arraycopy(xPoints, 0, ints, intCount, nPoints);
+        System.arraycopy(yPoints, 0, ints, intCount + nPoints, nPoints);
+        intCount += nPoints * 2;
+        ref(color);
+    }
+
+    void line(int x1, int y1, int x2, int y2, Color color) {
+        op(LINE);
+        ints(x1, y1, x2, y2);
+        ref(color);
+    }
+
+    /** An image at its own size if {@code w} is negative. */
+    void image(Image img, int x, int y, int w, int h, Color bgColor) {
+        op(IMAGE);
+        ints(x, y, w, h);
+        ref(img);
+        ref(bgColor);
+    }
+
+    void text(String text, int x, int y, Color color) {
+        op(TEXT);
+        ints(x, y, 0, 0);
+        ref(text);
+        ref(color);
+    }
+
+    /** {@code scales} is 0 for the unscaled overload, 1 for a uniform scale and 2 for separate ones. */
+    void shade(int x, int y, int w, int h, int scales, double scaleY, double scaleX, Shader shader) {
+        op(SHADE);
+        ints(x, y, w, h);
+        ensureInts(1);
+        ints[intCount++] = scales;
+        doubles(scaleY, scaleX);
+        ref(shader);
+    }
+
+    void shadeLight(int x, int y, float brightness, Color color, IntUnaryOperator falloff, float cutoff) {
+        op(SHADE_LIGHT);
+        ints(x, y, 0, 0);
+        doubles(brightness, cutoff);
+        ref(color);
+        ref(falloff);
+    }
+
+    void lightmap() {
+        op(LIGHTMAP);
+    }
+
+    void alpha(float alpha) {
+        op(ALPHA);
+        doubles(alpha, 0);
+    }
+
+    void font(Font font) {
+        op(FONT);
+        ref(font);
+    }
+
+    void lineWidth(int width) {
+        op(LINE_WIDTH);
+        ints(width, 0, 0, 0);
+    }
+
+    void fidelity(GraphicsFidelity fidelity) {
+        op(FIDELITY);
+        ref(fidelity);
+    }
+
+    void screenCoordinates(boolean use) {
+        op(SCREEN_COORDINATES);
+        ints(use ? 1 : 0, 0, 0, 0);
+    }
+
+    void anchor(ScreenAnchor anchor) {
+        op(ANCHOR);
+        ref(anchor);
+    }
+
+    void camera(int x, int y, double zoom) {
+        op(CAMERA);
+        ints(x, y, 0, 0);
+        doubles(zoom, 0);
+    }
+
+    void beginObject(int prevX, int prevY, double prevScale, double prevRotation,
+                     int x, int y, double scale, double rotation, double pivotX, double pivotY) {
+        op(BEGIN_OBJECT);
+        ints(prevX, prevY, x, y);
+        doubles(prevScale, prevRotation);
+        doubles(scale, rotation);
+        doubles(pivotX, pivotY);
+    }
+
+    void endObject() {
+        op(END_OBJECT);
+    }
+
+    /** Makes the calls on {@code r}, interpolating object transforms by {@code frameAlpha}. */
+    void replay(Renderer r, float frameAlpha) {
+        int in = 0, dn = 0, rn = 0;
+        for (int o = 0; o < opCount; o++) {
+            switch (ops[o]) {
+                case FILL_RECT -> r.fillRect(ints[in], ints[in + 1], ints[in + 2], ints[in + 3], (Color) refs[rn++]);
+                case DRAW_RECT -> r.drawRect(ints[in], ints[in + 1], ints[in + 2], ints[in + 3], (Color) refs[rn++]);
+                case FILL_OVAL -> r.fillOval(ints[in], ints[in + 1], ints[in + 2], ints[in + 3], (Color) refs[rn++]);
+                case DRAW_OVAL -> r.drawOval(ints[in], ints[in + 1], ints[in + 2], ints[in + 3], (Color) refs[rn++]);
+                case FILL_POLYGON, DRAW_POLYGON -> {
+                    int n = ints[in];
+                    if (n > polygonX.length) {
+                        polygonX = new int[Math.max(polygonX.length * 2, n)];
+                        polygonY = new int[polygonX.length];
+                    }
+                    System.arraycopy(ints, in + 1, polygonX, 0, n);
+                    System.arraycopy(ints, in + 1 + n, polygonY, 0, n);
+                    if (ops[o] == FILL_POLYGON) r.fillPolygon(polygonX, polygonY, n, (Color) refs[rn++]);
+                    else r.drawPolygon(polygonX, polygonY, n, (Color) refs[rn++]);
+                    in += n * 2 + 1;
+                    continue;
+                }
+                case LINE -> r.drawLine(ints[in], ints[in + 1], ints[in + 2], ints[in + 3], (Color) refs[rn++]);
+                case IMAGE -> {
+                    Image img = (Image) refs[rn++];
+                    Color bgColor = (Color) refs[rn++];
+                    int x = ints[in], y = ints[in + 1], w = ints[in + 2], h = ints[in + 3];
+                    if (w < 0) {
+                        if (bgColor == null) r.drawImage(img, x, y);
+                        else r.drawImage(img, x, y, bgColor);
+                    } else {
+                        if (bgColor == null) r.drawImage(img, x, y, w, h);
+                        else r.drawImage(img, x, y, w, h, bgColor);
+                    }
+                }
+                case TEXT -> r.drawText(refs[rn++], ints[in], ints[in + 1], (Color) refs[rn++]);
+                case SHADE -> {
+                    int x = ints[in], y = ints[in + 1], w = ints[in + 2], h = ints[in + 3];
+                    Shader shader = (Shader) refs[rn++];
+                    switch (ints[in + 4]) {
+                        case 0 -> r.shade(x, y, w, h, shader);
+                        case 1 -> r.shade(x, y, w, h, (float) doubles[dn], shader);
+                        default -> r.shade(x, y, w, h, (float) doubles[dn], (float) doubles[dn + 1], shader);
+                    }
+                    in += 5;
+                    dn += 2;
+                    continue;
+                }
+                case SHADE_LIGHT -> {
+                    r.shadeLight(ints[in], ints[in + 1], (float) doubles[dn], (Color) refs[rn++],
+                            (IntUnaryOperator) refs[rn++], (float) doubles[dn + 1]);
+                    dn += 2;
+                }
+                case LIGHTMAP -> {
+                    r.drawLightmap();
+                    continue;
+                }
+                case ALPHA -> {
+                    r.setAlpha((float) doubles[dn]);
+                    dn += 2;
+                    continue;
+                }
+                case FONT -> {
+                    r.setFont((Font) refs[rn++]);
+                    continue;
+                }
+                case LINE_WIDTH -> r.applyLineWidth(ints[in]);
+                case FIDELITY -> {
+                    r.applyGraphicsFidelity((GraphicsFidelity) refs[rn++]);
+                    continue;
+                }
+                case SCREEN_COORDINATES -> {
+                    boolean use = ints[in] != 0;
+                    if (use != r.getUseScreenCoordinates()) r.setUseScreenCoordinates(use);
+                }
+                case ANCHOR -> {
+                    r.setScreenAnchor((ScreenAnchor) refs[rn++]);
+                    continue;
+                }
+                case CAMERA -> {
+                    r.setCameraPos(ints[in], ints[in + 1]);
+                    if (doubles[dn] != r.getCameraZoom()) r.setCameraZoom(doubles[dn]);
+                    dn += 2;
+                }
+                case BEGIN_OBJECT -> {
+                    r.beginObject(ints[in], ints[in + 1], doubles[dn], doubles[dn + 1],
+                            ints[in + 2], ints[in + 3], doubles[dn + 2], doubles[dn + 3],
+                            doubles[dn + 4], doubles[dn + 5], frameAlpha);
+                    dn += 6;
+                }
+                case END_OBJECT -> {
+                    r.endObject();
+                    continue;
+                }
+                default -> throw new IllegalStateException("Unknown draw op: " + ops[o]);
+            }
+            in += 4;
+        }
+    }
+
+    private void op(int op) {
+        if (opCount == ops.length) ops = Arrays.copyOf(ops, opCount * 2);
+        ops[opCount++] = op;
+    }
+
+    private void ints(int a, int b, int c, int d) {
+        ensureInts(4);
+        ints[intCount] = a;
+        ints[intCount + 1] = b;
+        ints[intCount + 2] = c;
+        ints[intCount + 3] = d;
+        intCount += 4;
+    }
+
+    private void ensureInts(int n) {
+        if (intCount + n > ints.length) ints = Arrays.copyOf(ints, Math.max(ints.length * 2, intCount + n));
+    }
+
+    private void doubles(double a, double b) {
+        if (doubleCount + 2 > doubles.length) doubles = Arrays.copyOf(doubles, doubles.length * 2);
+        doubles[doubleCount] = a;
+        doubles[doubleCount + 1] = b;
+        doubleCount += 2;
+    }
+
+    private void ref(Object ref) {
+        if (refCount == refs.length) refs = Arrays.copyOf(refs, refCount * 2);
+        refs[refCount++] = ref;
+    }
+}
@@ -0,0 +1,113 @@
+package com.neutron.engine;
+
+import com.neutron.engine.func.CatchUpPolicy;
+
+/**
+ * Fixed-timestep clock for {@link GameCore#run}. Real time is added to a nanosecond accumulator and spent
+ * in whole ticks, so updates always see the same delta whatever the frame rate; what is left over is the
+ * {@link #alpha()} renderers interpolate with. A frame runs at most {@link #getMaxCatchUpTicks()} ticks;
+ * {@link #limitBacklog()} then drops what the {@link CatchUpPolicy} does not keep, so updates that take
+ * longer than a tick cannot make every frame run more of them.
+ */
+final class FixedTimestep {
+
+    /** Deltas are measured in ticks of this rate, whatever the actual tick rate is. */
+    static final int REFERENCE_TICK_RATE = 60;
+
+    private int tickRate;
+    private long tickNanos;
+    private long accumulator;
+    private long last;
+    private int maxCatchUpTicks = 5;
+    private CatchUpPolicy catchUpPolicy = CatchUpPolicy.DROP;
+
+    FixedTimestep(int tickRate) {
+        setTickRate(tickRate);
+    }
+
+    void setTickRate(int ticksPerSecond) {
+        if (ticksPerSecond < 1) throw new IllegalArgumentException("Tick rate must be at least 1: " + ticksPerSecond);
+        // Keep the fraction of a tick already accumulated
+        double fraction = tickNanos == 0 ? 0 : (double) accumulator / tickNanos;
+        this.tickRate = ticksPerSecond;
+        this.tickNanos = 1_000_000_000L / ticksPerSecond;
+        this.accumulator = (long) (fraction * tickNanos);
+    }
+
+    int getTickRate() {
+        return tickRate;
+    }
+
+    long getTickNanos() {
+        return tickNanos;
+    }
+
+    /** Delta of one tick, in {@link #REFERENCE_TICK_RATE} ticks: 1 at the default rate. */
+    float getTickDelta() {
+        return (float) REFERENCE_TICK_RATE / tickRate;
+    }
+
+    void setMaxCatchUpTicks(int maxTicks) {
+        if (maxTicks < 1) throw new IllegalArgumentException("Max catch-up ticks must be at least 1: " + maxTicks);
+        this.maxCatchUpTicks = maxTicks;
+    }
+
+    int getMaxCatchUpTicks() {
+        return maxCatchUpTicks;
+    }
+
+    void setCatchUpPolicy(CatchUpPolicy policy) {
+        if (policy == null) throw new IllegalArgumentException("Catch-up policy must not be null");
+        this.catchUpPolicy = policy;
+    }
+
+    CatchUpPolicy getCatchUpPolicy() {
+        return catchUpPolicy;
+    }
+
+    void start(long now) {
+        last = now;
+        accumulator = 0;
+    }
+
+    /** Adds the time elapsed since the last call. */
+    void advance(long now) {
+        accumulator += now - last;
+        last = now;
+    }
+
+    boolean tickDue() {
+        return accumulator >= tickNanos;
+    }
+
+    void consumeTick() {
+        accumulator -= tickNanos;
+    }
+
+    /** Time until the next tick is due, 0 if it is. */
+    long nanosUntilTick() {
+        return Math.max(0, tickNanos - accumulator);
+    }
+
+    /** Whole ticks owed. */
+    int backlog() {
+        return (int) Math.min(Integer.MAX_VALUE, accumulator / tickNanos);
+    }
+
+    /**
+     * Called after a frame's ticks: drops the owed ticks the policy does not carry to the next frames,
+     * keeping the fraction of a tick. Returns how many were dropped.
+     */
+    int limitBacklog() {
+        int backlog = backlog();
+        int kept = catchUpPolicy == CatchUpPolicy.CARRY ? Math.min(backlog, maxCatchUpTicks) : 0;
+        int dropped = backlog - kept;
+        accumulator -= dropped * tickNanos;
+        return dropped;
+    }
+
+    /** How far the clock is between the last tick and the next one, from 0 to 1. */
+    double alpha() {
+        return Math.min(1.0, (double) accumulator / tickNanos);
+    }
+}
@@ -0,0 +1,81 @@
+package com.neutron.engine;
+
+import java.awt.DisplayMode;
+import java.awt.GraphicsEnvironment;
+import java.awt.HeadlessException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Caps GameCore's frame rate without burning a core. The wait for the next frame is mostly slept;
+ * only the last stretch is spun, and its length follows how late the sleeps have been waking up, so
+ * frames start on time on systems with coarse timers and the CPU idles on the others.
+ */
+final class FramePacer {
+
+    private static final long MIN_SPIN_NANOS = 100_000;
+    private static final long MAX_SPIN_NANOS = 4_000_000;
+
+    private int frameRateLimit;
+    private long frameNanos;
+    private long nextFrame;
+    private long spinNanos = 1_000_000;
+
+    FramePacer(int frameRateLimit) {
+        setFrameRateLimit(frameRateLimit);
+    }
+
+    /** Refresh rate of the default screen, or 60 if it is unknown. */
+    static int displayRefreshRate() {
+        try {
+            if (GraphicsEnvironment.isHeadless()) return 60;
+            int rate = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                    .getDisplayMode().getRefreshRate();
+            return rate == DisplayMode.REFRESH_RATE_UNKNOWN ? 60 : rate;
+        } catch (HeadlessException e) {
+            return 60;
+        }
+    }
+
+    void setFrameRateLimit(int framesPerSecond) {
+        if (framesPerSecond < 0) {
+            throw new IllegalArgumentException("Frame rate limit cannot be negative: " + framesPerSecond);
+        }
+        this.frameRateLimit = framesPerSecond;
+        this.frameNanos = framesPerSecond == 0 ? 0 : 1_000_000_000L / framesPerSecond;
+    }
+
+    int getFrameRateLimit() {
+        return frameRateLimit;
+    }
+
+    void start(long now) {
+        nextFrame = now;
+    }
+
+    /** Waits until the next frame is due; returns right away without a limit. */
+    void waitForNextFrame() {
+        if (frameNanos == 0) return;
+        nextFrame += frameNanos;
+        long now = System.nanoTime();
+        // More than a frame behind: start over from now instead of rushing the missed frames
+        if (now - nextFrame > frameNanos) {
+            nextFrame = now;
+            return;
+        }
+        sleepUntil(nextFrame);
+    }
+
+    private void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > spinNanos) {
+            long sleep = remaining - spinNanos;
+            long before = System.nanoTime();
+            LockSupport.parkNanos(sleep);
+            long overshoot = System.nanoTime() - before - sleep;
+            // Spin for a bit more than the sleeps overshoot, easing back down when they are punctual
+            long target = Math.max(MIN_SPIN_NANOS, Math.min(MAX_SPIN_NANOS, overshoot + overshoot / 4));
+            spinNanos = target > spinNanos ? target : spinNanos - (spinNanos - target) / 8;
+        }
+        while (deadline - System.nanoTime() > 0) Thread.onSpinWait();
+    }
+}
@@ -2,20 +2,34 @@ package com.neutron.engine;
 
 import com.neutron.engine.base.BaseGame;
 import com.neutron.engine.base.GameObject;
+import com.neutron.engine.base.Scene;
+import com.neutron.engine.base.interfaces.TickOverrunListener;
+import com.neutron.engine.func.CatchUpPolicy;
 import com.neutron.engine.func.GraphicsFidelity;
 import game.Game;
 
+import java.util.concurrent.locks.LockSupport;
+
 public class GameCore implements Runnable {
 
     public final int WIDTH, HEIGHT;
     private boolean running;
-    private float frameTimeMs;
+    private volatile float frameTimeMs;
 
     private final BaseGame game;
     private final Renderer renderer;
 
     private float timeScale = 1.0f;
 
+    private final FixedTimestep timestep = new FixedTimestep(FixedTimestep.REFERENCE_TICK_RATE);
+    private final FramePacer pacer = new FramePacer(FramePacer.displayRefreshRate());
+    private volatile float interpolationAlpha = 1f;
+    private final TickStats tickStats = new TickStats(timestep.getTickNanos());
+    private long tickBudgetNanos; // 0: one tick
+
+    private volatile boolean pipelinedRendering;
+    private volatile RenderPipeline pipeline; // set on the loop thread
+
 
     public GameCore(Game game, String title, int width, int height, String iconPath, GraphicsFidelity gq) {
         this.game = game;
@@ -40,45 +54,96 @@ public class GameCore implements Runnable {
 
     public void run() {
         //core game update and render loop
-        double delta = 0;
-        double UPDATES_PER_SECOND = 1_000_000_000D / 60F; // 60F MEANS 60 UPDATES PER SECOND
-        long last = System.nanoTime(), now = System.nanoTime();
-
         ObjectHandler.init(this);
         game.play(this, renderer);
 
+        long now = System.nanoTime();
+        timestep.start(now);
+        pacer.start(now);
+
         while (running) {
-            this.frameTimeMs = (float) (System.nanoTime() - now) / 1_000_000F; //NS conversion to MS div by 1e6
-            now = System.nanoTime();
-            delta += (double)(now - last) / UPDATES_PER_SECOND;
-            last = now;
+            if (pipelinedRendering != (pipeline != null)) switchRendering();
+            long frameStart = System.nanoTime();
+            if (pipeline == null) this.frameTimeMs = (float) (frameStart - now) / 1_000_000F; //NS conversion to MS div by 1e6
+            now = frameStart;
+            timestep.advance(now);
 
-            while (delta >= 1) {
-                float adjustedDelta = 1.0f * timeScale;
+            int frameTicks = 0;
+            while (timestep.tickDue() && frameTicks < timestep.getMaxCatchUpTicks()) {
+                long tickStart = System.nanoTime();
+                float adjustedDelta = timestep.getTickDelta() * timeScale;
                 game.update(this, renderer, adjustedDelta);
+                Scene scene = ObjectHandler.getScene();
+                if (scene != null) scene.update(this, renderer, adjustedDelta);
                 ObjectHandler.updateObjects(this, adjustedDelta);
                 CollisionManager.checkCollisions(adjustedDelta);
-                delta--;
+                timestep.consumeTick();
+                frameTicks++;
+                tickStats.recordTick(System.nanoTime() - tickStart, timestep.getTickRate());
             }
+            // Bound the work owed so the frame below is drawn however slow the updates are
+            int backlog = timestep.backlog();
+            int dropped = timestep.limitBacklog();
+            tickStats.recordFrame(frameTicks, backlog, dropped);
+            if (dropped > 0) notifyTickOverrun(dropped);
+            interpolationAlpha = (float) timestep.alpha();
 
-            renderer.clear();
-            ObjectHandler.renderObjects(this, renderer);
-            if (renderer.isRenderColliders()) CollisionManager.renderCollisionBoxes(renderer);
-            ObjectHandler.renderUIObjects(this, renderer);
-            renderer.show();
+            if (pipeline == null) {
+                renderer.clear();
+                renderFrame();
+                renderer.show();
+                pacer.waitForNextFrame();
+            } else {
+                // Record the frame for the render thread, then sleep until the next tick
+                if (frameTicks > 0) {
+                    renderFrame();
+                    pipeline.publish(System.nanoTime(), timestep.alpha(), timestep.getTickNanos());
+                    renderer.record(pipeline.back());
+                }
+                timestep.advance(System.nanoTime());
+                if (!timestep.tickDue()) LockSupport.parkNanos(timestep.nanosUntilTick());
+            }
         }
+        if (pipeline != null) pipeline.stop();
         System.exit(0);
     }
 
+    private void renderFrame() {
+        ObjectHandler.renderObjects(this, renderer);
+        if (renderer.isRenderColliders()) CollisionManager.renderCollisionBoxes(renderer);
+        ObjectHandler.renderUIObjects(this, renderer);
+    }
+
+    private void switchRendering() {
+        if (pipeline == null) {
+            pipeline = new RenderPipeline(renderer, pacer);
+            renderer.record(pipeline.back());
+            pipeline.start();
+        } else {
+            pipeline.stop();
+            renderer.record(null);
+            renderer.resume(pipeline.display());
+            pipeline = null;
+            pacer.start(System.nanoTime());
+        }
+    }
+
+    private void notifyTickOverrun(int dropped) {
+        if (game instanceof TickOverrunListener listener) listener.onTickOverrun(this, dropped, tickStats);
+        ObjectHandler.forEach(TickOverrunListener.class, listener -> listener.onTickOverrun(this, dropped, tickStats));
+    }
+
     public Renderer getRenderer() {
         return renderer;
     }
 
+    /** Time between the last two frames drawn, on the render thread in pipelined mode. */
     public float getFrameTimeMs() {
-        return frameTimeMs;
+        RenderPipeline pipeline = this.pipeline;
+        return pipeline != null ? pipeline.getFrameTimeMs() : frameTimeMs;
     }
     public float getFPS() {
-        return 1000 / frameTimeMs;
+        return 1000 / getFrameTimeMs();
     }
 
     public void setTimeScale(float timeScale) {
@@ -89,6 +154,104 @@ public class GameCore implements Runnable {
         return timeScale;
     }
 
+    /**
+     * Updates per second (default 60). Deltas stay measured in 60ths of a second, so at 120 ticks per
+     * second each update gets a delta of 0.5 and the game runs at the same speed.
+     */
+    public void setTickRate(int ticksPerSecond) {
+        timestep.setTickRate(ticksPerSecond);
+        if (tickBudgetNanos == 0) tickStats.setBudgetNanos(timestep.getTickNanos());
+    }
+
+    public int getTickRate() {
+        return timestep.getTickRate();
+    }
+
+    /**
+     * Most updates run before each frame is drawn (default 5). When updates fall further behind than that,
+     * the {@link CatchUpPolicy} decides what happens to the ticks still owed; the game then runs slower than
+     * real time instead of spending ever more of each frame catching up.
+     */
+    public void setMaxCatchUpTicks(int maxTicks) {
+        timestep.setMaxCatchUpTicks(maxTicks);
+    }
+
+    public int getMaxCatchUpTicks() {
+        return timestep.getMaxCatchUpTicks();
+    }
+
+    /** What happens to ticks owed beyond {@link #setMaxCatchUpTicks}; defaults to {@link CatchUpPolicy#DROP}. */
+    public void setCatchUpPolicy(CatchUpPolicy policy) {
+        timestep.setCatchUpPolicy(policy);
+    }
+
+    public CatchUpPolicy getCatchUpPolicy() {
+        return timestep.getCatchUpPolicy();
+    }
+
+    /** Time an update may take before {@link TickStats} counts it as over budget; 0 for the tick length (the default). */
+    public void setTickBudgetMs(float budgetMs) {
+        if (budgetMs < 0) throw new IllegalArgumentException("Tick budget must not be negative: " + budgetMs);
+        tickBudgetNanos = (long) (budgetMs * 1_000_000);
+        tickStats.setBudgetNanos(tickBudgetNanos == 0 ? timestep.getTickNanos() : tickBudgetNanos);
+    }
+
+    /**
+     * Update timings and how often the loop fell behind. Objects and the game implementing
+     * {@link TickOverrunListener} are told whenever ticks are dropped.
+     */
+    public TickStats getTickStats() {
+        return tickStats;
+    }
+
+    /**
+     * Most frames drawn per second, 0 for no limit; defaults to the display's refresh rate. Waiting for
+     * the next frame mostly sleeps, so a limited game does not keep a core busy.
+     */
+    public void setFrameRateLimit(int framesPerSecond) {
+        pacer.setFrameRateLimit(framesPerSecond);
+    }
+
+    public int getFrameRateLimit() {
+        return pacer.getFrameRateLimit();
+    }
+
+    /**
+     * How far the current frame is between the last update and the next one, from 0 to 1. Renderers
+     * can draw at {@code previous + (current - previous) * alpha} to move smoothly when there are more
+     * frames than updates; {@link com.neutron.engine.base.interfaces.Interpolated} objects get this for
+     * their transform.
+     */
+    public float getInterpolationAlpha() {
+        return interpolationAlpha;
+    }
+
+    /**
+     * Draws on a separate render thread, so slow drawing (shaders, many objects) no longer delays updates
+     * and the two can use different cores. Each update, {@code render()} and {@code renderUI()} are still
+     * called on the update thread, but the renderer only records the calls; the render thread draws the
+     * newest recording, interpolating {@link com.neutron.engine.base.interfaces.Interpolated} objects
+     * itself, while the update thread moves on. Shaders run on the render thread, so they must not read
+     * state the update changes, and drawing through {@code Renderer.graphics} directly is not recorded.
+     * Takes effect at the start of the next frame.
+     */
+    public void setPipelinedRendering(boolean pipelined) {
+        this.pipelinedRendering = pipelined;
+    }
+
+    public boolean isPipelinedRendering() {
+        return pipelinedRendering;
+    }
+
+    /** Loads a scene; see {@link ObjectHandler#setScene}. */
+    public void setScene(Scene scene) {
+        ObjectHandler.setScene(scene);
+    }
+
+    public Scene getScene() {
+        return ObjectHandler.getScene();
+    }
+
     public GameObject getObjectById(long id) {
         return ObjectHandler.getById(id);
     }
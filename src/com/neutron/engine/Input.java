@@ -115,13 +115,13 @@ public class Input extends KeyAdapter implements MouseMotionListener, MouseWheel
     public void keyPressed(KeyEvent e) {
         if (!currentPressedKeys.contains(e.getKeyCode())) {
             currentPressedKeys.add(e.getKeyCode());
-            ObjectHandler.queueInterfaceUpdate(KeyboardInput.class, "keyPressed", this, e, e.getKeyCode());
+            ObjectHandler.queueInterfaceUpdate(KeyboardInput.class, k -> k.keyPressed(this, e, e.getKeyCode()));
         }
     }
 
     public void keyReleased(KeyEvent e) {
         currentPressedKeys.remove((Object) e.getKeyCode());
-        ObjectHandler.queueInterfaceUpdate(KeyboardInput.class, "keyReleased", this, e, e.getKeyCode());
+        ObjectHandler.queueInterfaceUpdate(KeyboardInput.class, k -> k.keyReleased(this, e, e.getKeyCode()));
     }
 
     public void keyTyped(KeyEvent e) {
@@ -137,53 +137,73 @@ public class Input extends KeyAdapter implements MouseMotionListener, MouseWheel
 
     public void mousePressed(MouseEvent e) {
         currentPressedMouseButtons[e.getButton()-1] = true;
-        ObjectHandler.queueInterfaceUpdate(MouseButtonInput.class, "mousePressed", e, Math.max(0, Math.min(gameCore.WIDTH, e.getX())), Math.max(0, Math.min(gameCore.HEIGHT, e.getY())), e.getX() > gameCore.WIDTH || e.getX() < 0 || e.getY() > gameCore.HEIGHT || e.getY() < 0);
-        ObjectHandler.sendUIObjectUpdates(Math.max(0, Math.min(gameCore.WIDTH, e.getX())), Math.max(0, Math.min(gameCore.HEIGHT, e.getY())));
+        int x = clampX(e), y = clampY(e);
+        boolean off = isOffWindow(e);
+        ObjectHandler.queueInterfaceUpdate(MouseButtonInput.class, m -> m.mousePressed(e, x, y, off));
+        ObjectHandler.sendUIObjectUpdates(x, y);
     }
 
     public void mouseReleased(MouseEvent e) {
         currentPressedMouseButtons[e.getButton()-1] = false;
-        ObjectHandler.queueInterfaceUpdate(MouseButtonInput.class, "mouseReleased", e, Math.max(0, Math.min(gameCore.WIDTH, e.getX())), Math.max(0, Math.min(gameCore.HEIGHT, e.getY())), e.getX() > gameCore.WIDTH || e.getX() < 0 || e.getY() > gameCore.HEIGHT || e.getY() < 0);
+        int x = clampX(e), y = clampY(e);
+        boolean off = isOffWindow(e);
+        ObjectHandler.queueInterfaceUpdate(MouseButtonInput.class, m -> m.mouseReleased(e, x, y, off));
         UIObject focused = ObjectHandler.getFocusedUIObject();
         if (focused != null) focused.onRelease();
     }
 
     public void mouseDragged(MouseEvent e) {
-        mouseX = Math.max(0, Math.min(gameCore.WIDTH, e.getX()));
-        mouseY = Math.max(0, Math.min(gameCore.HEIGHT, e.getY()));
-        ObjectHandler.queueInterfaceUpdate(MouseMovement.class, "mouseMoved", e, Math.max(0, Math.min(gameCore.WIDTH, e.getX())), Math.max(0, Math.min(gameCore.HEIGHT, e.getY())), e.getX() > gameCore.WIDTH || e.getX() < 0 || e.getY() > gameCore.HEIGHT || e.getY() < 0);
-        ObjectHandler.queueInterfaceUpdate(MouseMovement.class, "mouseDragged", e, Math.max(0, Math.min(gameCore.WIDTH, e.getX())), Math.max(0, Math.min(gameCore.HEIGHT, e.getY())), e.getX() > gameCore.WIDTH || e.getX() < 0 || e.getY() > gameCore.HEIGHT || e.getY() < 0);
+        int x = clampX(e), y = clampY(e);
+        boolean off = isOffWindow(e);
+        mouseX = x;
+        mouseY = y;
+        ObjectHandler.queueInterfaceUpdate(MouseMovement.class, m -> m.mouseMoved(e, x, y, off));
+        ObjectHandler.queueInterfaceUpdate(MouseMovement.class, m -> m.mouseDragged(e, x, y, off));
         UIObject focused = ObjectHandler.getFocusedUIObject();
         if (focused != null) focused.onDrag(mouseX, mouseY);
     }
 
     public void mouseMoved(MouseEvent e) {
-        mouseX = Math.max(0, Math.min(gameCore.WIDTH, e.getX()));
-        mouseY = Math.max(0, Math.min(gameCore.HEIGHT, e.getY()));
-        ObjectHandler.queueInterfaceUpdate(MouseMovement.class, "mouseMoved", e, Math.max(0, Math.min(gameCore.WIDTH, e.getX())), Math.max(0, Math.min(gameCore.HEIGHT, e.getY())), e.getX() > gameCore.WIDTH || e.getX() < 0 || e.getY() > gameCore.HEIGHT || e.getY() < 0);
+        int x = clampX(e), y = clampY(e);
+        boolean off = isOffWindow(e);
+        mouseX = x;
+        mouseY = y;
+        ObjectHandler.queueInterfaceUpdate(MouseMovement.class, m -> m.mouseMoved(e, x, y, off));
     }
 
     public void mouseEntered(MouseEvent e) {
         isMouseOnScreen = true;
-        ObjectHandler.queueInterfaceUpdate(MouseWindowMovement.class, "mouseEnteredWindow", e, e.getX(), e.getY());
+        ObjectHandler.queueInterfaceUpdate(MouseWindowMovement.class, m -> m.mouseEnteredWindow(e, e.getX(), e.getY()));
     }
 
     public void mouseExited(MouseEvent e) {
         isMouseOnScreen = false;
-        ObjectHandler.queueInterfaceUpdate(MouseWindowMovement.class, "mouseExitedWindow", e, e.getX(), e.getY());
+        ObjectHandler.queueInterfaceUpdate(MouseWindowMovement.class, m -> m.mouseExitedWindow(e, e.getX(), e.getY()));
     }
 
     public void mouseWheelMoved(MouseWheelEvent e) {
-        ObjectHandler.queueInterfaceUpdate(MouseWheelInput.class, "mouseWheelMoved", e, e.getUnitsToScroll());
+        ObjectHandler.queueInterfaceUpdate(MouseWheelInput.class, m -> m.mouseWheelMoved(e, e.getUnitsToScroll()));
     }
 
     public void focusGained(FocusEvent e) {
         isWindowFocused = true;
-        ObjectHandler.queueInterfaceUpdate(WindowFocusListener.class, "focusGained");
+        ObjectHandler.queueInterfaceUpdate(WindowFocusListener.class, WindowFocusListener::focusGained);
     }
 
     public void focusLost(FocusEvent e) {
         isWindowFocused = false;
-        ObjectHandler.queueInterfaceUpdate(WindowFocusListener.class, "focusLost");
+        ObjectHandler.queueInterfaceUpdate(WindowFocusListener.class, WindowFocusListener::focusLost);
+    }
+
+    private static int clampX(MouseEvent e) {
+        return Math.max(0, Math.min(gameCore.WIDTH, e.getX()));
+    }
+
+    private static int clampY(MouseEvent e) {
+        return Math.max(0, Math.min(gameCore.HEIGHT, e.getY()));
+    }
+
+    private static boolean isOffWindow(MouseEvent e) {
+        return e.getX() > gameCore.WIDTH || e.getX() < 0 || e.getY() > gameCore.HEIGHT || e.getY() < 0;
     }
 }
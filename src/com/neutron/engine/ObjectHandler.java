@@ -1,32 +1,63 @@
 package com.neutron.engine;
 
+import com.neutron.engine.CommandBuffer.Command;
 import com.neutron.engine.base.*;
-import com.neutron.engine.base.interfaces.Collidable;
+import com.neutron.engine.base.interfaces.Interpolated;
+import com.neutron.engine.base.interfaces.Movable;
 import com.neutron.engine.base.interfaces.ObjectRenderer;
+import com.neutron.engine.base.interfaces.ParallelUpdate;
 import com.neutron.engine.base.interfaces.SoundEmitter;
+import com.neutron.engine.base.interfaces.Transform;
 import com.neutron.engine.base.interfaces.ui.UIGroup;
 import com.neutron.engine.base.interfaces.ui.UIObject;
+import com.neutron.engine.entity.EntityStore;
 import com.neutron.engine.func.UniqueId;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public class ObjectHandler {
 
     private static GameCore gameCore;
 
-    private static final ArrayList<GameObject> gameObjects = new ArrayList<>();
-    private static final ArrayList<ObjectRenderer> toRenderList = new ArrayList<>();
-    private static final ArrayList<UIGroup> uiObjects = new ArrayList<>();
-    private static final ArrayList<SoundEmitter> soundEmitters = new ArrayList<>();
+    // The loaded scene's objects; swapped whole when another scene is loaded
+    private static volatile ObjectRegistry registry = rootRegistry();
     private static UIObject focusedUIObject = null;
 
-    private static final List<Runnable> postUpdateTasks = new ArrayList<>();
-    private static final HashMap<Long, GameObject> gameObjectsById = new HashMap<>();
+    private static final ArrayList<EntityStore> entityStores = new ArrayList<>();
+
+    private static final ParallelUpdater parallelUpdater = new ParallelUpdater();
+
+    // Structural changes and queued interface calls from any thread, applied at the start of each update
+    private static final CommandBuffer commands = new CommandBuffer();
+    private static volatile Thread updateThread;
+
+    // Every class and interface a class is an instance of; read by scene loader threads too
+    private static final ConcurrentHashMap<Class<?>, Class<?>[]> typesByClass = new ConcurrentHashMap<>();
+
+    // Registry being filled by a scene's play() on the calling thread, see build()
+    private static final ThreadLocal<ObjectRegistry> BUILDING = new ThreadLocal<>();
+    private static final ConcurrentHashMap<Scene, CompletableFuture<ObjectRegistry>> preloads = new ConcurrentHashMap<>();
+    private static final Executor SCENE_LOADER = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "Scene loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final double[] viewBounds = new double[4];
+    private static final ArrayList<GameObject> awakeParallelObjects = new ArrayList<>();
 
     public static void init(GameCore core) {
         if (gameCore != null) {
@@ -41,63 +72,94 @@ public class ObjectHandler {
 
     public static void updateObjects(GameCore gameCore, float delta) {
         ObjectHandler.gameCore = gameCore;
-        // Run any deferred object additions/removals after interface calls
-        // Clear before running so tasks added during execution are preserved for next update
-        List<Runnable> snapshot = new ArrayList<>(postUpdateTasks);
-        postUpdateTasks.clear();
-        snapshot.forEach(Runnable::run);
-
-        for (GameObject gameObject : gameObjects) {
-            gameObject.update(gameCore, delta);
+        updateThread = Thread.currentThread();
+        // Apply the commands issued since the last update, in the order they were issued. Commands issued
+        // while these run (e.g. objects created in play()) are left for the next update. A scene switch
+        // is one of them, so the commands before it apply to the old scene and those after to the new one.
+        for (Command c = commands.drain(); c != null; c = c.next) registry.execute(c, gameCore);
+        ObjectRegistry reg = registry;
+        reg.applyPoolChanges();
+        reg.compact();
+        // Where interpolated objects are drawn from until the next update
+        if (reg.hasInterpolated()) reg.renderQueue.saveTransforms();
+
+        boolean parallel = parallelUpdater.getThreads() > 1;
+        reg.syncActiveRegion();
+        ActiveRegion activeRegion = reg.activeRegion;
+        if (activeRegion != null) {
+            // Only the objects near the view; the region moves the ones that changed cells afterwards
+            reg.scene.getViewBounds(gameCore, viewBounds);
+            activeRegion.setView(viewBounds[0], viewBounds[1], viewBounds[2], viewBounds[3]);
+            activeRegion.update(gameCore, delta, parallel, awakeParallelObjects);
+            if (parallel) {
+                parallelUpdater.run(awakeParallelObjects, gameCore, delta, commands);
+                awakeParallelObjects.clear();
+            }
+            activeRegion.afterUpdate(gameCore);
+        } else {
+            for (GameObject gameObject : reg.gameObjects) {
+                if (parallel && gameObject instanceof ParallelUpdate) continue;
+                if (gameObject.isActive()) gameObject.update(gameCore, delta);
+            }
+            if (parallel) parallelUpdater.run(reg.indexOf(ParallelUpdate.class), gameCore, delta, commands);
         }
 
+        // Entity stores move their entities in one linear pass each
+        for (int i = 0; i < entityStores.size(); i++) entityStores.get(i).update(delta);
+
         // Update sound emitters
-        for (SoundEmitter emitter : soundEmitters) {
-            if (emitter instanceof GameObject go) {
+        for (SoundEmitter emitter : reg.soundEmitters) {
+            if (emitter instanceof GameObject go && go.isActive()) {
                 SoundHelper.update(go.getId());
             }
         }
+
+        reg.snapMoved();
     }
 
     public static void renderObjects(GameCore gameCore, Renderer r) {
-        // Sort objects by z-depth
-        toRenderList.sort(Comparator.comparingDouble(ObjectRenderer::getZDepth));
-
-        List<ObjectRenderer> snapshot = new ArrayList<>(toRenderList);
-        // Loop through each render object
-        for (ObjectRenderer renderObject : snapshot) {
-            int x = renderObject.getX(), y = renderObject.getY();
-            double scale = renderObject.getScale();
-            double rotation = renderObject.getRotation();
-
-            if (scale == 0) scale = 1e-6D;  // Avoid zero scaling
-
-            r.setAlpha(1f);
-
-            double px = renderObject.getPivotX();
-            double py = renderObject.getPivotY();
-            r.graphics.translate(x, y);
-            r.graphics.translate(px, py);
-            r.graphics.rotate(Math.toRadians(rotation));
-            r.graphics.translate(-px, -py);
-            r.graphics.scale(scale, scale);
-            renderObject.render(gameCore, r);
-            r.graphics.scale(1d/scale, 1d/scale);
-            r.graphics.translate(px, py);
-            r.graphics.rotate(-Math.toRadians(rotation));
-            r.graphics.translate(-px, -py);
-            r.graphics.translate(-x, -y);
+        // Objects are kept bucketed by z-depth; only the ones whose depth changed are moved
+        RenderQueue renderQueue = registry.renderQueue;
+        renderQueue.refreshDepths();
+
+        // Additions and removals are deferred to the next update, so the queue can be walked without a copy
+        float alpha = gameCore == null ? 1f : gameCore.getInterpolationAlpha();
+        for (int b = 0; b < renderQueue.bucketCount(); b++) {
+            RenderQueue.Bucket bucket = renderQueue.bucket(b);
+            for (int i = 0; i < bucket.size; i++) {
+                renderObject(gameCore, r, bucket, i, alpha);
+            }
         }
 
         //render lightmap above everything
         //r.drawLightmap(); TODO
     }
 
+    private static void renderObject(GameCore gameCore, Renderer r, RenderQueue.Bucket bucket, int i, float alpha) {
+        ObjectRenderer renderObject = bucket.items[i];
+        if (renderObject instanceof GameObject go && !go.isActive()) return;
+        int x = renderObject.x(), y = renderObject.y();
+        double scale = renderObject.scale();
+        double rotation = renderObject.rotation();
+
+        r.setAlpha(1f);
+
+        if (renderObject instanceof Interpolated) {
+            // From the transform at the start of the last update
+            r.beginObject(bucket.prevX[i], bucket.prevY[i], bucket.prevScale[i], bucket.prevRotation[i],
+                    x, y, scale, rotation, renderObject.pivotX(), renderObject.pivotY(), alpha);
+        } else {
+            r.beginObject(x, y, scale, rotation, x, y, scale, rotation, renderObject.pivotX(), renderObject.pivotY(), 1f);
+        }
+        renderObject.render(gameCore, r);
+        r.endObject();
+    }
+
 
     public static void renderUIObjects(GameCore gameCore, Renderer r) {
         r.setUseScreenCoordinates(true);
 
-        for (UIGroup uiGroup : uiObjects) {
+        for (UIGroup uiGroup : registry.uiObjects) {
             for (UIObject uiObject : uiGroup.objects()) {
                 uiObject.renderUI(gameCore, r);
             }
@@ -107,7 +169,7 @@ public class ObjectHandler {
     }
 
     public static void sendUIObjectUpdates(int mouseX, int mouseY) {
-        for (UIGroup uiGroup : uiObjects) {
+        for (UIGroup uiGroup : registry.uiObjects) {
             for (UIObject uiObject : uiGroup.objects()) {
                 if (uiObject.isBeingPressed(mouseX, mouseY)) {
                     uiObject.onPress();
@@ -117,24 +179,37 @@ public class ObjectHandler {
         }
     }
 
+    /**
+     * Calls {@code event} on every object implementing {@code type} at the start of the next update.
+     * Dispatch walks the per-interface index directly, so nothing is looked up reflectively:
+     * {@code queueInterfaceUpdate(KeyboardInput.class, k -> k.keyPressed(input, e, code))}
+     * Safe to call from any thread, e.g. AWT input listeners.
+     */
+    public static <T> void queueInterfaceUpdate(Class<T> type, Consumer<? super T> event) {
+        post(Command.dispatch(type, event));
+    }
+
+    /** @deprecated Reflective; use {@link #queueInterfaceUpdate(Class, Consumer)}. */
+    @Deprecated
     public static void queueInterfaceUpdate(Class<?> interfaceClass, String methodName, Object... args) {
-        postUpdateTasks.add(() -> updateInterfaces(interfaceClass, methodName, args));
+        post(Command.task(() -> updateInterfaces(interfaceClass, methodName, args)));
     }
 
-    //Thank you chatGPT.
+    /** @deprecated Reflective; use {@link #forEach(Class, Consumer)}. */
+    @Deprecated
     public static void updateInterfaces(Class<?> interfaceClass, String methodName, Object... args) {
         Class<?>[] types = new Class[args.length];
         for (int i = 0; i < types.length; i++) types[i] = args[i].getClass();
 
-        List<GameObject> snapshot = new ArrayList<>(gameObjects);
-        snapshot.stream().filter(interfaceClass::isInstance)
-                .forEach(gameObject -> {
-                    try {
-                        interfaceClass.getMethod(methodName, types).invoke(gameObject, args);
-                    } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-                        throw new RuntimeException(e);
-                    }
-                });
+        List<GameObject> snapshot = new ArrayList<>(target().indexOf(interfaceClass));
+        snapshot.forEach(gameObject -> {
+            if (!gameObject.isActive()) return;
+            try {
+                interfaceClass.getMethod(methodName, types).invoke(gameObject, args);
+            } catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+                throw new RuntimeException(e);
+            }
+        });
     }
 
     public static long[] add(GameObject... gameObjects) {
@@ -146,48 +221,354 @@ public class ObjectHandler {
         return ids;
     }
 
+    /**
+     * Assigns the object its id and registers it at the start of the next update, when its {@code play}
+     * is called. Safe to call from any thread, so objects can be created by background loaders.
+     * Objects created while a scene is being built go into that scene; see {@link #preloadScene}.
+     */
     public static long add(GameObject gameObject) {
         long id = UniqueId.generateGameObjectId();
         gameObject.setId(id); // Assign ID immediately
-        gameObjectsById.put(id, gameObject); // Add to lookup map immediately
-        postUpdateTasks.add(() -> {
-            gameObjects.add(gameObject);
-
-            if (gameObject instanceof ObjectRenderer) toRenderList.add((ObjectRenderer) gameObject);
-            if (gameObject instanceof UIGroup) uiObjects.add((UIGroup) gameObject);
-            if (gameObject instanceof Collidable) CollisionManager.register((Collidable) gameObject);
-            
-            // Register sound emitter and add all defined rules
-            if (gameObject instanceof SoundEmitter soundEmitter) {
-                soundEmitters.add(soundEmitter);
-                SoundHelper.SoundRule[] rules = soundEmitter.defineSounds();
-                if (rules != null) {
-                    for (SoundHelper.SoundRule rule : rules) {
-                        SoundHelper.addRule(id, rule.sound, rule.condition, rule.volume, 
-                                          rule.tag, rule.onlyOnChange, rule.effect);
-                    }
+        // Add to lookup map immediately, unless created by a parallel update: then with the other changes
+        if (ParallelUpdater.currentCommands() == null) target().gameObjectsById.put(id, gameObject);
+        post(Command.add(gameObject));
+        return id;
+    }
+
+    /**
+     * Removes the object at the start of the next update. The object is marked removed and dropped from
+     * the object, render, UI and sound lists and the type indexes in a single compaction pass after all
+     * queued removals, so each removal costs O(1) and the update and render order of the remaining
+     * objects is unchanged. Safe to call from any thread.
+     */
+    public static void remove(GameObject gameObject) {
+        post(Command.remove(gameObject));
+    }
+
+    /**
+     * Returns a released object of exactly the given class, reactivated and with its
+     * {@link GameObject#onReuse} hook called, or a new one from {@code factory} if the pool is empty.
+     * A reused object keeps its id and its render and collision registration; only the type indexes
+     * ({@link #first}, {@link #forEach}, {@link #view}) pick it up again at the start of the next update,
+     * as with {@link #add}. With a non-capturing factory such as {@code Block::new}, reuse does not allocate.
+     * Must be called from the update thread, outside a parallel update, or while building a scene.
+     */
+    public static <T extends GameObject> T obtain(Class<T> type, Supplier<? extends T> factory) {
+        ObjectRegistry target = BUILDING.get();
+        if (target == null) {
+            if (!onUpdateThread()) {
+                throw new IllegalStateException("Pooled objects can only be obtained on the update thread");
+            }
+            target = registry;
+        }
+        ArrayDeque<GameObject> pool = target.pools.get(type);
+        GameObject pooled = pool == null ? null : pool.poll();
+        if (pooled == null) {
+            T created = factory.get();
+            if (created.getClass() != type) {
+                throw new IllegalArgumentException("Factory for " + type.getName() + " created a "
+                        + created.getClass().getName());
+            }
+            return created;
+        }
+        pooled.setActive(true);
+        target.pendingReuses.add(pooled);
+        target.markMoved(pooled);
+        pooled.onReuse(gameCore);
+        return type.cast(pooled);
+    }
+
+    /**
+     * Deactivates the object and keeps it for {@link #obtain} instead of removing it. It stops being
+     * updated, rendered and collided right away (its current contacts end with {@code onExit} on the
+     * next collision check), and leaves the type indexes at the start of the next update.
+     * Off the update thread this goes through the command buffer; on it, it does not allocate.
+     */
+    public static void release(GameObject gameObject) {
+        if (!gameObject.isActive()) return;
+        gameObject.setActive(false);
+        if (onUpdateThread()) registry.pendingReleases.add(gameObject);
+        else post(Command.release(gameObject));
+    }
+
+    /**
+     * Number of threads for the update phase. Above 1, objects implementing {@link ParallelUpdate} are
+     * updated in shards on the common fork/join pool after all other objects, which keep their serial
+     * update on the calling thread. Changes the parallel objects queue are applied in object order, so
+     * a correct {@link ParallelUpdate} object gives the same results for any thread count.
+     */
+    public static void setUpdateThreads(int threads) {
+        parallelUpdater.setThreads(threads);
+    }
+
+    public static int getUpdateThreads() {
+        return parallelUpdater.getThreads();
+    }
+
+    /**
+     * Determinism check for {@link ParallelUpdate} objects. Runs {@code setup} and {@code ticks} updates
+     * with a single thread, then does the same split over several threads (every object pair may land in
+     * different shards, however few objects there are) and compares the transforms and velocities of all
+     * objects after every tick. Returns one line per difference, empty if both runs matched.
+     * <p>
+     * Each run gets a registry of its own without collision or entity stores, and the game's objects,
+     * entity stores and pending commands are set aside and restored afterwards, so the loaded scene is
+     * left as it was. Call it between updates, e.g. from {@code BaseGame.update} or before the game
+     * starts, not from an object's update.
+     */
+    public static List<String> checkParallelUpdate(Runnable setup, int ticks, float delta) {
+        int threads = getUpdateThreads();
+        ObjectRegistry saved = registry;
+        ArrayList<EntityStore> savedStores = new ArrayList<>(entityStores);
+        UIObject savedFocus = focusedUIObject;
+        Command pending = commands.drain();
+        try {
+            List<String> names = new ArrayList<>();
+            List<double[]> serial = recordUpdates(setup, ticks, delta, 1, names);
+            parallelUpdater.setMinObjectsPerShard(1);
+            List<double[]> parallel = recordUpdates(setup, ticks, delta,
+                    threads > 1 ? threads : Math.max(2, Runtime.getRuntime().availableProcessors()), null);
+
+            List<String> differences = new ArrayList<>();
+            for (int t = 0; t < ticks; t++) {
+                double[] a = serial.get(t), b = parallel.get(t);
+                if (a.length != b.length) {
+                    differences.add("tick " + t + ": " + a.length / TRANSFORM_FIELDS.length + " objects serially, "
+                            + b.length / TRANSFORM_FIELDS.length + " in parallel");
+                    continue;
+                }
+                for (int i = 0; i < a.length; i++) {
+                    if (Double.compare(a[i], b[i]) == 0) continue;
+                    int object = i / TRANSFORM_FIELDS.length;
+                    differences.add("tick " + t + ", object #" + object + " (" + names.get(object) + "): "
+                            + TRANSFORM_FIELDS[i % TRANSFORM_FIELDS.length] + " " + a[i] + " serially, " + b[i] + " in parallel");
                 }
             }
+            return differences;
+        } finally {
+            parallelUpdater.setMinObjectsPerShard(ParallelUpdater.MIN_OBJECTS_PER_SHARD);
+            setUpdateThreads(threads);
+            registry = saved;
+            entityStores.clear();
+            entityStores.addAll(savedStores);
+            focusedUIObject = savedFocus;
+            // Commands the check's objects left behind are dropped; the game's own go back in order
+            commands.drain();
+            for (Command c = pending; c != null; ) {
+                Command next = c.next;
+                commands.push(c);
+                c = next;
+            }
+        }
+    }
 
-            gameObject.play(ObjectHandler.gameCore);
-        });
-        return id;
+    private static final String[] TRANSFORM_FIELDS = {"x", "y", "scale", "rotation", "vx", "vy"};
+
+    /** Transforms after each update, TRANSFORM_FIELDS per object in update order. */
+    private static List<double[]> recordUpdates(Runnable setup, int ticks, float delta, int threads, List<String> names) {
+        // Collision bodies go to a state of their own that is never checked
+        ObjectRegistry check = new ObjectRegistry(null, new CollisionManager.State());
+        registry = check;
+        entityStores.clear();
+        commands.drain();
+        setUpdateThreads(threads);
+        List<double[]> ticksRecorded = new ArrayList<>();
+        try {
+            setup.run();
+            recordTicks(ticks, delta, names, ticksRecorded);
+        } finally {
+            check.unload(List.of());
+        }
+        return ticksRecorded;
     }
 
-    public static void remove(GameObject gameObject) {
-        postUpdateTasks.add(() -> {
-            gameObjects.remove(gameObject);
-            gameObjectsById.remove(gameObject.getId()); // Remove from map
-
-            if (gameObject instanceof ObjectRenderer) toRenderList.remove(gameObject);
-            if (gameObject instanceof UIGroup) uiObjects.remove(gameObject);
-            if (gameObject instanceof Collidable) CollisionManager.unregister((Collidable) gameObject);
-            if (gameObject instanceof SoundEmitter) soundEmitters.remove(gameObject);
-        });
+    private static void recordTicks(int ticks, float delta, List<String> names, List<double[]> ticksRecorded) {
+        for (int t = 0; t < ticks; t++) {
+            updateObjects(gameCore, delta);
+            List<GameObject> gameObjects = registry.gameObjects;
+            double[] values = new double[gameObjects.size() * TRANSFORM_FIELDS.length];
+            for (int i = 0; i < gameObjects.size(); i++) {
+                GameObject gameObject = gameObjects.get(i);
+                int o = i * TRANSFORM_FIELDS.length;
+                if (gameObject instanceof Transform transform) {
+                    values[o] = transform.x();
+                    values[o + 1] = transform.y();
+                    values[o + 2] = transform.scale();
+                    values[o + 3] = transform.rotation();
+                }
+                if (gameObject instanceof Movable movable) {
+                    values[o + 4] = movable.vx();
+                    values[o + 5] = movable.vy();
+                }
+                if (names != null && names.size() <= i) names.add(gameObject.getClass().getSimpleName());
+            }
+            ticksRecorded.add(values);
+        }
+    }
+
+    /**
+     * Drops every object, pool, entity store, queued task, loaded and preloaded scene, and unregisters
+     * all collidables. Removed objects are not notified; meant for tests and tools.
+     */
+    public static void clear() {
+        for (GameObject gameObject : registry.gameObjects) {
+            gameObject.markRemoved();
+            if (gameObject instanceof SoundEmitter) SoundHelper.cleanup(gameObject.getId());
+        }
+        focusedUIObject = null;
+        entityStores.clear();
+        commands.drain();
+        preloads.clear();
+        CollisionManager.clear();
+        registry = rootRegistry();
+    }
+
+    /** A loaded registry without a scene, using the collision state loaded now. */
+    private static ObjectRegistry rootRegistry() {
+        ObjectRegistry root = new ObjectRegistry(null, CollisionManager.getState());
+        root.load();
+        return root;
+    }
+
+    /**
+     * Loads a scene between two updates: the next update applies the commands issued before this call
+     * to the current scene, then swaps in the new one. Its objects replace the current scene's, which
+     * are marked removed without going through {@link #remove}. Objects added while no scene was loaded
+     * stay, ahead of the new scene's. If the scene was preloaded with {@link #preloadScene}, this only
+     * waits for the build to finish, if it has not; otherwise its {@code play} is called now, along with
+     * the {@code play} of the objects it creates. {@code null} unloads the current scene.
+     * Must be called from the update thread, outside a parallel update.
+     */
+    public static void setScene(Scene newScene) {
+        if (!onUpdateThread()) {
+            throw new IllegalStateException("Scenes can only be changed on the update thread");
+        }
+        CompletableFuture<ObjectRegistry> preload = newScene == null ? null : preloads.remove(newScene);
+        ObjectRegistry next;
+        if (preload != null) next = preload.join();
+        else if (newScene != null) next = build(newScene);
+        else next = new ObjectRegistry(null, new CollisionManager.State());
+        commands.push(Command.task(() -> load(next)));
+    }
+
+    /**
+     * Builds the scene on a background thread: calls its {@code play} and the {@code play} of every object
+     * it creates, and registers them in the scene's own object, render, collision and sound registries
+     * without touching the loaded scene. {@link #setScene} then swaps it in between two updates, so a
+     * level change takes one frame however large the level. While building, {@link #add}, {@link #obtain},
+     * {@link #first} and the other lookups called from the loader thread see the scene being built;
+     * the {@code play} methods involved must not touch the loaded scene's objects.
+     */
+    public static CompletableFuture<Scene> preloadScene(Scene scene) {
+        Objects.requireNonNull(scene, "Scene cannot be null");
+        CompletableFuture<ObjectRegistry> build = CompletableFuture.supplyAsync(() -> build(scene), SCENE_LOADER);
+        preloads.put(scene, build);
+        return build.thenApply(r -> scene);
+    }
+
+    public static Scene getScene() {
+        return registry.scene;
+    }
+
+    /** Live read-only list of the objects belonging to the given scene; empty unless it is loaded or being built. */
+    public static List<GameObject> getSceneObjects(Scene s) {
+        ObjectRegistry target = target();
+        return s != null && s == target.scene ? target.sceneObjectsView : Collections.emptyList();
+    }
+
+    /**
+     * Tells the engine that an object was moved from outside its own update, e.g. teleported. The scene's
+     * active region wakes it up or puts it to sleep right away instead of at its next update, and an
+     * {@link Interpolated} object is drawn from its new position instead of sliding there. Objects only
+     * moved by their own update need not call this. Update thread only.
+     */
+    public static void markMoved(GameObject gameObject) {
+        if (gameObject.isRemoved()) return;
+        ObjectRegistry reg = registry;
+        if (reg.activeRegion != null) reg.activeRegion.moved(gameObject);
+        reg.markMoved(gameObject);
+    }
+
+    /** Number of objects updated every tick: all of them, or only the awake ones with an active region. */
+    public static int getAwakeCount() {
+        ObjectRegistry reg = registry;
+        return reg.activeRegion != null ? reg.activeRegion.awakeCount() : reg.gameObjects.size();
+    }
+
+    /** Runs the scene's play on the calling thread, with everything it creates going into a new registry. */
+    private static ObjectRegistry build(Scene scene) {
+        ObjectRegistry target = new ObjectRegistry(scene, new CollisionManager.State());
+        ObjectRegistry outer = BUILDING.get();
+        BUILDING.set(target);
+        try {
+            scene.play(gameCore, gameCore == null ? null : gameCore.getRenderer());
+            target.syncActiveRegion();
+            target.runBuildCommands(gameCore);
+        } finally {
+            if (outer == null) BUILDING.remove();
+            else BUILDING.set(outer);
+        }
+        return target;
+    }
+
+    /** Swaps in a built registry; run on the update thread as one of its commands. */
+    private static void load(ObjectRegistry next) {
+        ObjectRegistry previous = registry;
+        if (next == previous) return;
+        previous.applyPoolChanges();
+        previous.compact();
+        ArrayList<GameObject> carried = previous.carriedObjects();
+        next.syncActiveRegion();
+        next.carry(carried);
+        CollisionManager.setState(next.collision);
+        next.load();
+        registry = next;
+        focusedUIObject = null;
+        previous.unload(carried);
+    }
+
+    /** Number of released objects of exactly the given class waiting to be reused. */
+    public static int pooledCount(Class<? extends GameObject> type) {
+        ArrayDeque<GameObject> pool = target().pools.get(type);
+        return pool == null ? 0 : pool.size();
+    }
+
+    /** Queues a command for the start of the next update, or for the end of the parallel update issuing it. */
+    private static void post(Command command) {
+        ObjectRegistry building = BUILDING.get();
+        List<Command> shardCommands = ParallelUpdater.currentCommands();
+        if (building != null) building.buildCommands.add(command);
+        else if (shardCommands != null) shardCommands.add(command);
+        else commands.push(command);
+    }
+
+    /**
+     * True on the thread running {@link #updateObjects} (or any thread before the first update), outside a
+     * parallel update and a scene build.
+     */
+    private static boolean onUpdateThread() {
+        Thread thread = updateThread;
+        return (thread == null || thread == Thread.currentThread()) && ParallelUpdater.currentCommands() == null
+                && BUILDING.get() == null;
+    }
+
+    /** The registry being built on this thread, or else the loaded one. */
+    private static ObjectRegistry target() {
+        ObjectRegistry building = BUILDING.get();
+        return building != null ? building : registry;
+    }
+
+    /** Has the store's entities moved every update, after the GameObjects. */
+    public static void addEntityStore(EntityStore store) {
+        if (!entityStores.contains(store)) entityStores.add(store);
+    }
+
+    public static void removeEntityStore(EntityStore store) {
+        entityStores.remove(store);
     }
 
     public static GameObject getById(long id) {
-        return gameObjectsById.get(id); // Returns null if not found
+        return target().gameObjectsById.get(id); // Returns null if not found
     }
 
     public static void removeObjectById(long id) {
@@ -198,7 +579,7 @@ public class ObjectHandler {
     }
 
     public static boolean exists(long id) {
-        return gameObjectsById.containsKey(id);
+        return target().gameObjectsById.containsKey(id);
     }
 
     public static void remove(GameObject... gameObjects) {
@@ -207,10 +588,66 @@ public class ObjectHandler {
         }
     }
 
+    /** Copy of the objects of the given type; prefer {@link #first}, {@link #forEach} or {@link #view}. */
     public static List<GameObject> get(Class<? extends GameObject> targetClass) {
-        return gameObjects.stream()
-                .filter(targetClass::isInstance)
-                .collect(Collectors.toList());
+        return new ArrayList<>(target().indexOf(targetClass));
+    }
+
+    /** First added active object of the given class or interface, or null. */
+    public static <T> T first(Class<T> type) {
+        ArrayList<GameObject> objects = target().indexOfExisting(type);
+        if (objects == null) return null;
+        for (int i = 0; i < objects.size(); i++) {
+            GameObject gameObject = objects.get(i);
+            if (gameObject.isActive()) return type.cast(gameObject);
+        }
+        return null;
+    }
+
+    /** Number of active objects of the given class or interface. */
+    public static int count(Class<?> type) {
+        ArrayList<GameObject> objects = target().indexOfExisting(type);
+        if (objects == null) return 0;
+        int n = 0;
+        for (int i = 0; i < objects.size(); i++) {
+            if (objects.get(i).isActive()) n++;
+        }
+        return n;
+    }
+
+    /** Runs the action on every active object of the given class or interface, without copying. */
+    public static <T> void forEach(Class<T> type, Consumer<? super T> action) {
+        target().forEach(type, action);
+    }
+
+    /**
+     * Live read-only list of the objects of the given class or interface. It follows additions and
+     * removals, which are applied at the start of the next update. A view belongs to the scene that was
+     * loaded, or being built, when it was obtained.
+     */
+    public static <T> List<T> view(Class<T> type) {
+        return target().view(type);
+    }
+
+    /** Every class up to GameObject and every interface a class implements, worked out once per class. */
+    static Class<?>[] typesOf(Class<?> cls) {
+        Class<?>[] types = typesByClass.get(cls);
+        if (types != null) return types;
+
+        LinkedHashSet<Class<?>> found = new LinkedHashSet<>();
+        for (Class<?> c = cls; c != null && c != Object.class; c = c.getSuperclass()) {
+            found.add(c);
+            addInterfaces(c, found);
+        }
+        types = found.toArray(new Class<?>[0]);
+        typesByClass.put(cls, types);
+        return types;
+    }
+
+    private static void addInterfaces(Class<?> cls, Set<Class<?>> found) {
+        for (Class<?> i : cls.getInterfaces()) {
+            if (found.add(i)) addInterfaces(i, found);
+        }
     }
 
 }
@@ -0,0 +1,335 @@
+package com.neutron.engine;
+
+import com.neutron.engine.CommandBuffer.Command;
+import com.neutron.engine.base.GameObject;
+import com.neutron.engine.base.Scene;
+import com.neutron.engine.base.interfaces.Collidable;
+import com.neutron.engine.base.interfaces.Interpolated;
+import com.neutron.engine.base.interfaces.ObjectRenderer;
+import com.neutron.engine.base.interfaces.SoundEmitter;
+import com.neutron.engine.base.interfaces.ui.UIGroup;
+import com.neutron.engine.entity.EntityView;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * The objects of one scene with everything ObjectHandler keeps about them: update, render, UI and
+ * sound lists, type indexes, ids, pools, collision state and active region. Only the loaded scene's
+ * registry is updated and rendered. Another one can be filled on a background thread, since nothing
+ * in it is shared; loading it is a swap of registries between two updates instead of an
+ * {@code add} and {@code remove} per object.
+ */
+final class ObjectRegistry {
+
+    final Scene scene; // null: objects added while no scene was loaded
+
+    final ArrayList<GameObject> gameObjects = new ArrayList<>();
+    final RenderQueue renderQueue = new RenderQueue();
+    final ArrayList<UIGroup> uiObjects = new ArrayList<>();
+    final ArrayList<SoundEmitter> soundEmitters = new ArrayList<>();
+    final ConcurrentHashMap<Long, GameObject> gameObjectsById = new ConcurrentHashMap<>();
+    final CollisionManager.State collision;
+
+    // Objects by every class and interface they are an instance of, in the order they were added
+    private final HashMap<Class<?>, ArrayList<GameObject>> objectsByType = new HashMap<>();
+    private final HashMap<Class<?>, List<?>> viewsByType = new HashMap<>();
+
+    // Released objects by exact class, ready to be handed out again. Objects released or obtained since
+    // the last update only move in or out of the type indexes at the start of the next one.
+    final HashMap<Class<?>, ArrayDeque<GameObject>> pools = new HashMap<>();
+    final ArrayList<GameObject> pendingReleases = new ArrayList<>();
+    final ArrayList<GameObject> pendingReuses = new ArrayList<>();
+
+    // Removed and released objects are only marked; the lists are compacted in one pass at the start
+    // of the next update, so removal is O(1) and the remaining objects keep the order they were added in.
+    private boolean compactPending;
+    private final ArrayList<ArrayList<GameObject>> dirtyIndexes = new ArrayList<>();
+
+    // The scene's own objects, and the ones that came along from a registry without a scene
+    final ArrayList<GameObject> sceneObjects = new ArrayList<>();
+    final List<GameObject> sceneObjectsView = Collections.unmodifiableList(sceneObjects);
+    private final ArrayList<GameObject> carried = new ArrayList<>();
+
+    ActiveRegion activeRegion;
+
+    // Interpolated renderers moved from outside their update this tick, drawn from where they end up
+    private final ArrayList<ObjectRenderer> movedRenderers = new ArrayList<>();
+
+    // Commands issued while the registry is being built, before it is loaded
+    final ArrayList<Command> buildCommands = new ArrayList<>();
+
+    // Set once loaded; sound rules are only registered from then on, on the update thread
+    private boolean live;
+
+    ObjectRegistry(Scene scene, CollisionManager.State collision) {
+        this.scene = scene;
+        this.collision = collision;
+    }
+
+    void addNow(GameObject gameObject, GameCore gameCore) {
+        gameObjectsById.put(gameObject.getId(), gameObject);
+        gameObjects.add(gameObject);
+        for (Class<?> type : ObjectHandler.typesOf(gameObject.getClass())) indexOf(type).add(gameObject);
+
+        if (gameObject instanceof ObjectRenderer) renderQueue.add((ObjectRenderer) gameObject);
+        if (gameObject instanceof UIGroup) uiObjects.add((UIGroup) gameObject);
+        if (gameObject instanceof Collidable) CollisionManager.register(collision, (Collidable) gameObject);
+        if (gameObject instanceof SoundEmitter soundEmitter) {
+            soundEmitters.add(soundEmitter);
+            if (live) registerSounds(soundEmitter);
+        }
+
+        gameObject.play(gameCore);
+        // After play, which may still position the object
+        if (scene != null) sceneObjects.add(gameObject);
+        if (activeRegion != null) activeRegion.add(gameObject);
+    }
+
+    void removeNow(GameObject gameObject) {
+        if (gameObject.isRemoved()) return;
+        gameObject.markRemoved();
+        gameObjectsById.remove(gameObject.getId());
+        markIndexesDirty(gameObject);
+        compactPending = true;
+
+        if (gameObject instanceof Collidable) CollisionManager.unregister(collision, (Collidable) gameObject);
+        if (activeRegion != null) activeRegion.remove(gameObject);
+        if (gameObject instanceof EntityView view) view.getStore().destroy(view.getEntity());
+
+        // A pooled object must not be handed out again
+        if (!gameObject.isActive()) {
+            pendingReleases.remove(gameObject);
+            ArrayDeque<GameObject> pool = pools.get(gameObject.getClass());
+            if (pool != null) pool.remove(gameObject);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    void execute(Command command, GameCore gameCore) {
+        switch (command.kind) {
+            case ADD -> addNow(command.object, gameCore);
+            case REMOVE -> removeNow(command.object);
+            case RELEASE -> pendingReleases.add(command.object);
+            case DISPATCH -> forEach((Class<Object>) command.type, (Consumer<Object>) command.event);
+            case TASK -> command.task.run();
+        }
+    }
+
+    /** Runs the commands issued while building, and those they issue in turn, then settles the lists. */
+    void runBuildCommands(GameCore gameCore) {
+        ArrayList<Command> batch = new ArrayList<>();
+        while (!buildCommands.isEmpty()) {
+            batch.addAll(buildCommands);
+            buildCommands.clear();
+            for (int i = 0; i < batch.size(); i++) execute(batch.get(i), gameCore);
+            batch.clear();
+        }
+        applyPoolChanges();
+        compact();
+        snapMoved();
+    }
+
+    void applyPoolChanges() {
+        for (int i = 0; i < pendingReleases.size(); i++) {
+            GameObject gameObject = pendingReleases.get(i);
+            markIndexesDirty(gameObject);
+            pools.computeIfAbsent(gameObject.getClass(), c -> new ArrayDeque<>()).push(gameObject);
+        }
+        pendingReleases.clear();
+        for (int i = 0; i < pendingReuses.size(); i++) {
+            GameObject gameObject = pendingReuses.get(i);
+            // released again or removed before it was indexed
+            if (!gameObject.isActive() || gameObject.isRemoved()) continue;
+            for (Class<?> type : ObjectHandler.typesOf(gameObject.getClass())) indexOf(type).add(gameObject);
+            if (activeRegion != null) activeRegion.moved(gameObject);
+        }
+        pendingReuses.clear();
+    }
+
+    /** Drops removed objects, and pooled ones from the type indexes, keeping everything else in order. */
+    void compact() {
+        if (compactPending) {
+            compactPending = false;
+            compact(gameObjects, false);
+            renderQueue.compact();
+            compact(uiObjects, false);
+            compact(soundEmitters, false);
+            compact(sceneObjects, false);
+            compact(carried, false);
+        }
+        for (int i = 0; i < dirtyIndexes.size(); i++) compact(dirtyIndexes.get(i), true);
+        dirtyIndexes.clear();
+    }
+
+    boolean hasInterpolated() {
+        ArrayList<GameObject> interpolated = objectsByType.get(Interpolated.class);
+        return interpolated != null && !interpolated.isEmpty();
+    }
+
+    void markMoved(GameObject gameObject) {
+        if (gameObject instanceof Interpolated && gameObject instanceof ObjectRenderer renderer) {
+            movedRenderers.add(renderer);
+        }
+    }
+
+    /** Called at the end of an update, once the moved objects have their new transforms. */
+    void snapMoved() {
+        for (int i = 0; i < movedRenderers.size(); i++) renderQueue.snap(movedRenderers.get(i));
+        movedRenderers.clear();
+    }
+
+    /** Creates or drops the active region when the scene enables or disables it. */
+    void syncActiveRegion() {
+        if (scene == null || !scene.hasActiveRegion()) {
+            activeRegion = null;
+            return;
+        }
+        if (activeRegion == null) {
+            activeRegion = new ActiveRegion();
+            for (int i = 0; i < gameObjects.size(); i++) activeRegion.add(gameObjects.get(i));
+        }
+        activeRegion.configure(scene.getActiveMargin(), scene.getDormantUpdateInterval());
+    }
+
+    /** The objects that go along when another scene is loaded: all of them without a scene, else those that came along. */
+    ArrayList<GameObject> carriedObjects() {
+        ArrayList<GameObject> objects = new ArrayList<>(scene == null ? gameObjects : carried);
+        objects.removeIf(GameObject::isRemoved);
+        return objects;
+    }
+
+    /**
+     * Takes over objects from the registry being unloaded, ahead of this registry's own objects: they
+     * were added first, and keep being updated and drawn first. Their {@code play} is not called again.
+     */
+    void carry(List<GameObject> objects) {
+        if (objects.isEmpty()) return;
+        gameObjects.addAll(0, objects);
+        if (scene != null) carried.addAll(objects);
+
+        HashMap<Class<?>, ArrayList<GameObject>> byType = new HashMap<>();
+        for (int i = objects.size() - 1; i >= 0; i--) {
+            GameObject gameObject = objects.get(i);
+            gameObjectsById.put(gameObject.getId(), gameObject);
+            if (gameObject.isActive()) {
+                for (Class<?> type : ObjectHandler.typesOf(gameObject.getClass())) {
+                    byType.computeIfAbsent(type, t -> new ArrayList<>()).add(gameObject);
+                }
+            } else {
+                pools.computeIfAbsent(gameObject.getClass(), c -> new ArrayDeque<>()).add(gameObject);
+            }
+            if (gameObject instanceof ObjectRenderer renderer) renderQueue.addFirst(renderer);
+            if (gameObject instanceof Collidable c) CollisionManager.register(collision, c);
+            if (gameObject instanceof SoundEmitter emitter) soundEmitters.add(0, emitter);
+        }
+        for (var entry : byType.entrySet()) {
+            Collections.reverse(entry.getValue());
+            indexOf(entry.getKey()).addAll(0, entry.getValue());
+        }
+        ArrayList<UIGroup> groups = new ArrayList<>();
+        for (GameObject gameObject : objects) {
+            if (gameObject instanceof UIGroup group) groups.add(group);
+        }
+        uiObjects.addAll(0, groups);
+        if (activeRegion != null) {
+            for (GameObject gameObject : objects) activeRegion.add(gameObject);
+        }
+    }
+
+    /** Called when the registry is loaded, on the update thread. */
+    void load() {
+        if (live) return;
+        live = true;
+        for (int i = 0; i < soundEmitters.size(); i++) registerSounds(soundEmitters.get(i));
+    }
+
+    /**
+     * Removes every object that did not go along to the next registry, with the same cleanup as
+     * {@link #removeNow}: their entities are destroyed, and their sounds stopped.
+     */
+    void unload(List<GameObject> carriedAway) {
+        for (int i = 0; i < carriedAway.size(); i++) gameObjectsById.remove(carriedAway.get(i).getId());
+        for (GameObject gameObject : gameObjectsById.values()) {
+            if (gameObject.isRemoved()) continue;
+            gameObject.markRemoved();
+            if (live && gameObject instanceof SoundEmitter) SoundHelper.cleanup(gameObject.getId());
+            // Entity stores are shared by all registries; the collision state and region go with this one
+            if (gameObject instanceof EntityView view) view.getStore().destroy(view.getEntity());
+            if (activeRegion != null) activeRegion.remove(gameObject);
+        }
+        gameObjectsById.clear();
+        pools.clear();
+        pendingReleases.clear();
+        pendingReuses.clear();
+        live = false;
+    }
+
+    private void registerSounds(SoundEmitter soundEmitter) {
+        SoundHelper.SoundRule[] rules = soundEmitter.defineSounds();
+        if (rules == null) return;
+        long id = ((GameObject) soundEmitter).getId();
+        for (SoundHelper.SoundRule rule : rules) {
+            SoundHelper.addRule(id, rule.sound, rule.condition, rule.volume,
+                              rule.tag, rule.onlyOnChange, rule.effect);
+        }
+    }
+
+    /** Skips pooled objects, which stay indexed while inactive, the same way updates do. */
+    <T> void forEach(Class<T> type, Consumer<? super T> action) {
+        ArrayList<GameObject> objects = objectsByType.get(type);
+        if (objects == null) return;
+        for (int i = 0; i < objects.size(); i++) {
+            GameObject gameObject = objects.get(i);
+            if (gameObject.isActive()) action.accept(type.cast(gameObject));
+        }
+    }
+
+    ArrayList<GameObject> indexOfExisting(Class<?> type) {
+        return objectsByType.get(type);
+    }
+
+    ArrayList<GameObject> indexOf(Class<?> type) {
+        return objectsByType.computeIfAbsent(type, t -> new ArrayList<>());
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> List<T> view(Class<T> type) {
+        return (List<T>) viewsByType.computeIfAbsent(type, t -> Collections.unmodifiableList(indexOf(t)));
+    }
+
+    void clearIndexes() {
+        for (ArrayList<GameObject> index : objectsByType.values()) index.clear();
+    }
+
+    private void markIndexesDirty(GameObject gameObject) {
+        for (Class<?> type : ObjectHandler.typesOf(gameObject.getClass())) {
+            ArrayList<GameObject> index = indexOf(type);
+            if (!isDirty(index)) dirtyIndexes.add(index);
+        }
+    }
+
+    // By identity; ArrayList.equals would compare the contents
+    private boolean isDirty(ArrayList<GameObject> index) {
+        for (int i = 0; i < dirtyIndexes.size(); i++) {
+            if (dirtyIndexes.get(i) == index) return true;
+        }
+        return false;
+    }
+
+    private static <T> void compact(ArrayList<T> list, boolean dropPooled) {
+        int kept = 0;
+        for (int i = 0; i < list.size(); i++) {
+            T o = list.get(i);
+            if (o instanceof GameObject go && (go.isRemoved() || (dropPooled && !go.isActive()))) continue;
+            if (kept != i) list.set(kept, o);
+            kept++;
+        }
+        while (list.size() > kept) list.remove(list.size() - 1);
+    }
+}
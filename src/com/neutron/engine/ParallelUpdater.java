@@ -0,0 +1,103 @@
+package com.neutron.engine;
+
+import com.neutron.engine.CommandBuffer.Command;
+import com.neutron.engine.base.GameObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs the updates of {@link com.neutron.engine.base.interfaces.ParallelUpdate} objects in contiguous
+ * shards on the common fork/join pool. Each shard buffers the commands its objects issue; the buffers
+ * are pushed in shard order afterwards, so the command order is the same as for a serial update.
+ */
+final class ParallelUpdater {
+    /** Below this many objects per shard the fork/join overhead outweighs the work. */
+    static final int MIN_OBJECTS_PER_SHARD = 64;
+
+    private static final ThreadLocal<Shard> CURRENT = new ThreadLocal<>();
+
+    private Shard[] shards = new Shard[0];
+    private int minObjectsPerShard = MIN_OBJECTS_PER_SHARD;
+    private List<GameObject> objects;
+    private GameCore gameCore;
+    private float delta;
+
+    ParallelUpdater() {
+        setThreads(1);
+    }
+
+    void setThreads(int threads) {
+        if (threads < 1) throw new IllegalArgumentException("Threads must be at least 1: " + threads);
+        shards = new Shard[threads];
+        for (int i = 0; i < threads; i++) shards[i] = new Shard();
+    }
+
+    int getThreads() {
+        return shards.length;
+    }
+
+    /** Fewer shards are used when they would get fewer objects than this; 1 splits even two objects. */
+    void setMinObjectsPerShard(int objects) {
+        if (objects < 1) throw new IllegalArgumentException("Objects per shard must be at least 1: " + objects);
+        this.minObjectsPerShard = objects;
+    }
+
+    /** Command buffer of the shard running on the calling thread, or null outside a parallel update. */
+    static List<Command> currentCommands() {
+        Shard shard = CURRENT.get();
+        return shard == null ? null : shard.commands;
+    }
+
+    /** Updates the objects and pushes the commands they issued to {@code commands}. */
+    void run(List<GameObject> objects, GameCore gameCore, float delta, CommandBuffer commands) {
+        int count = objects.size();
+        int used = Math.max(1, Math.min(shards.length, count / minObjectsPerShard));
+        int per = (count + used - 1) / used;
+        this.objects = objects;
+        this.gameCore = gameCore;
+        this.delta = delta;
+        for (int s = 0; s < used; s++) {
+            Shard shard = shards[s];
+            shard.reinitialize();
+            shard.from = Math.min(count, s * per);
+            shard.to = Math.min(count, shard.from + per);
+        }
+
+        // The calling thread takes the first shard itself, the rest go to the common pool
+        try {
+            for (int s = 1; s < used; s++) shards[s].fork();
+            shards[0].compute();
+        } finally {
+            for (int s = 1; s < used; s++) shards[s].join();
+            this.objects = null;
+        }
+
+        for (int s = 0; s < used; s++) {
+            ArrayList<Command> shardCommands = shards[s].commands;
+            for (int i = 0; i < shardCommands.size(); i++) commands.push(shardCommands.get(i));
+            shardCommands.clear();
+        }
+    }
+
+    private final class Shard extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        int from, to;
+        final ArrayList<Command> commands = new ArrayList<>();
+
+        @Override
+        protected void compute() {
+            CURRENT.set(this);
+            try {
+                for (int i = from; i < to; i++) {
+                    GameObject gameObject = objects.get(i);
+                    if (gameObject.isActive()) gameObject.update(gameCore, delta);
+                }
+            } finally {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.neutron.engine;
+
+import com.neutron.engine.base.GameObject;
+
+/**
+ * Result of {@link CollisionManager#raycast}. Create one and reuse it for every cast;
+ * it is overwritten on each hit.
+ */
+public final class RaycastHit {
+    private GameObject object;
+    private String colliderId;
+    private double distance;
+    private double pointX, pointY;
+    private float normalX, normalY;
+
+    void set(GameObject object, String colliderId, double distance,
+             double pointX, double pointY, float normalX, float normalY) {
+        this.object = object;
+        this.colliderId = colliderId;
+        this.distance = distance;
+        this.pointX = pointX;
+        this.pointY = pointY;
+        this.normalX = normalX;
+        this.normalY = normalY;
+    }
+
+    public GameObject getObject() {
+        return object;
+    }
+
+    public String getColliderId() {
+        return colliderId;
+    }
+
+    /** Distance from the ray origin; 0 if the origin is inside the collider. */
+    public double getDistance() {
+        return distance;
+    }
+
+    public double getPointX() {
+        return pointX;
+    }
+
+    public double getPointY() {
+        return pointY;
+    }
+
+    /** Surface normal at the hit point; the reversed ray direction if the origin is inside. */
+    public float getNormalX() {
+        return normalX;
+    }
+
+    public float getNormalY() {
+        return normalY;
+    }
+}
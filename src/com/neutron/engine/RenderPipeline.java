@@ -0,0 +1,91 @@
+package com.neutron.engine;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pipelined rendering for {@link GameCore}: the update thread records each frame into a {@link DrawList},
+ * and a render thread draws the newest one. Three lists rotate between them, one being recorded, one
+ * being drawn and the newest finished one waiting in between; each side swaps its list for the waiting
+ * one with a single atomic exchange, so neither ever waits for the other. A frame the render thread did
+ * not get to in time is skipped, and without a new one it draws the last one again, interpolated further.
+ */
+final class RenderPipeline {
+
+    private final Renderer display;
+    private final FramePacer pacer;
+    private final Thread thread;
+    private final AtomicReference<DrawList> ready = new AtomicReference<>(new DrawList());
+    private DrawList back = new DrawList();  // update thread
+    private DrawList front = new DrawList(); // render thread
+    private long sequence;
+    private volatile boolean running = true;
+    private volatile float frameTimeMs;
+
+    /** Draws to {@code renderer}'s buffer, paced by {@code pacer}, which belongs to the render thread until {@link #stop()}. */
+    RenderPipeline(Renderer renderer, FramePacer pacer) {
+        this.display = new Renderer(renderer);
+        this.pacer = pacer;
+        this.thread = new Thread(this::renderLoop, "Render");
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /** Stops the render thread and waits for its last frame to finish. */
+    void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    /** The renderer the render thread drew with, for the update thread to take over from after {@link #stop()}. */
+    Renderer display() {
+        return display;
+    }
+
+    /** The list to record the next frame into. */
+    DrawList back() {
+        return back;
+    }
+
+    /** Hands the recorded frame to the render thread; {@link #back()} is then a free list. */
+    void publish(long now, double alpha, long tickNanos) {
+        back.publish(++sequence, now, alpha, tickNanos);
+        back = ready.getAndSet(back);
+    }
+
+    float getFrameTimeMs() {
+        return frameTimeMs;
+    }
+
+    private void renderLoop() {
+        long last = System.nanoTime();
+        pacer.start(last);
+        while (running) {
+            // Only exchange for a newer frame; the waiting list may be the one this thread drew last
+            if (ready.get().sequence > front.sequence) front = ready.getAndSet(front);
+            if (front.sequence > 0) {
+                long now = System.nanoTime();
+                frameTimeMs = (now - last) / 1_000_000F;
+                last = now;
+                display.clear();
+                front.replay(display, front.alphaAt(now));
+                display.show();
+            } else {
+                LockSupport.parkNanos(1_000_000);
+            }
+            pacer.waitForNextFrame();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.neutron.engine;
+
+import com.neutron.engine.base.GameObject;
+import com.neutron.engine.base.interfaces.Interpolated;
+import com.neutron.engine.base.interfaces.ObjectRenderer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * World renderers bucketed by z-depth, buckets in ascending z and each bucket in the order its objects
+ * were added. Nothing is sorted or copied per frame: adding appends to a bucket, removal is compacted
+ * along with the other ObjectHandler lists, and {@link #refreshDepths()} moves the few objects whose
+ * z-depth changed. Each bucket also keeps the transform every renderer had at the start of the tick,
+ * for {@link Interpolated} ones.
+ */
+final class RenderQueue {
+
+    static final class Bucket {
+        final int z;
+        ObjectRenderer[] items = new ObjectRenderer[16];
+        int[] prevX = new int[16], prevY = new int[16];
+        double[] prevScale = new double[16], prevRotation = new double[16];
+        int size;
+
+        Bucket(int z) {
+            this.z = z;
+        }
+
+        void add(ObjectRenderer renderer) {
+            if (size == items.length) grow();
+            items[size] = renderer;
+            save(size++);
+        }
+
+        void addFirst(ObjectRenderer renderer) {
+            if (size == items.length) grow();
+            System.arraycopy(items, 0, items, 1, size);
+            System.arraycopy(prevX, 0, prevX, 1, size);
+            System.arraycopy(prevY, 0, prevY, 1, size);
+            System.arraycopy(prevScale, 0, prevScale, 1, size);
+            System.arraycopy(prevRotation, 0, prevRotation, 1, size++);
+            items[0] = renderer;
+            save(0);
+        }
+
+        /** Records the current transform as the one to interpolate from. */
+        void save(int i) {
+            ObjectRenderer renderer = items[i];
+            prevX[i] = renderer.x();
+            prevY[i] = renderer.y();
+            prevScale[i] = renderer.scale();
+            prevRotation[i] = renderer.rotation();
+        }
+
+        /** Appends another bucket's renderer along with its saved transform. */
+        void take(Bucket from, int i) {
+            if (size == items.length) grow();
+            items[size] = from.items[i];
+            prevX[size] = from.prevX[i];
+            prevY[size] = from.prevY[i];
+            prevScale[size] = from.prevScale[i];
+            prevRotation[size++] = from.prevRotation[i];
+        }
+
+        private void move(int from, int to) {
+            items[to] = items[from];
+            prevX[to] = prevX[from];
+            prevY[to] = prevY[from];
+            prevScale[to] = prevScale[from];
+            prevRotation[to] = prevRotation[from];
+        }
+
+        private void grow() {
+            int capacity = size * 2;
+            items = Arrays.copyOf(items, capacity);
+            prevX = Arrays.copyOf(prevX, capacity);
+            prevY = Arrays.copyOf(prevY, capacity);
+            prevScale = Arrays.copyOf(prevScale, capacity);
+            prevRotation = Arrays.copyOf(prevRotation, capacity);
+        }
+    }
+
+    private final ArrayList<Bucket> buckets = new ArrayList<>();
+    private int size;
+
+    void add(ObjectRenderer renderer) {
+        bucketFor(renderer.getZDepth()).add(renderer);
+        size++;
+    }
+
+    /** Adds ahead of the renderers already in its bucket. */
+    void addFirst(ObjectRenderer renderer) {
+        bucketFor(renderer.getZDepth()).addFirst(renderer);
+        size++;
+    }
+
+    void clear() {
+        buckets.clear();
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    Bucket bucket(int i) {
+        return buckets.get(i);
+    }
+
+    /**
+     * Moves every object whose {@code getZDepth()} no longer matches its bucket to the end of the right one.
+     * One int comparison per object when nothing changed.
+     */
+    void refreshDepths() {
+        for (int b = 0; b < buckets.size(); b++) {
+            Bucket bucket = buckets.get(b);
+            int kept = 0;
+            for (int i = 0; i < bucket.size; i++) {
+                ObjectRenderer renderer = bucket.items[i];
+                int z = renderer.getZDepth();
+                if (z == bucket.z) {
+                    bucket.move(i, kept++);
+                } else {
+                    // A new bucket may be inserted before this one; find ours again afterwards
+                    bucketFor(z).take(bucket, i);
+                    if (buckets.get(b) != bucket) b++;
+                }
+            }
+            Arrays.fill(bucket.items, kept, bucket.size, null);
+            bucket.size = kept;
+        }
+    }
+
+    /** Drops objects ObjectHandler has removed, keeping the order of the rest. */
+    void compact() {
+        size = 0;
+        for (int b = 0; b < buckets.size(); b++) {
+            Bucket bucket = buckets.get(b);
+            int kept = 0;
+            for (int i = 0; i < bucket.size; i++) {
+                ObjectRenderer renderer = bucket.items[i];
+                if (renderer instanceof GameObject go && go.isRemoved()) continue;
+                bucket.move(i, kept++);
+            }
+            Arrays.fill(bucket.items, kept, bucket.size, null);
+            bucket.size = kept;
+            size += kept;
+        }
+    }
+
+    /** Records the transforms of the {@link Interpolated} renderers at the start of a tick. */
+    void saveTransforms() {
+        for (int b = 0; b < buckets.size(); b++) {
+            Bucket bucket = buckets.get(b);
+            for (int i = 0; i < bucket.size; i++) {
+                if (bucket.items[i] instanceof Interpolated) bucket.save(i);
+            }
+        }
+    }
+
+    /** Makes the renderer interpolate from where it is now, e.g. after a teleport. */
+    void snap(ObjectRenderer renderer) {
+        int index = search(renderer.getZDepth());
+        if (index >= 0 && snap(buckets.get(index), renderer)) return;
+        // Its depth changed since the last refresh
+        for (int b = 0; b < buckets.size(); b++) {
+            if (snap(buckets.get(b), renderer)) return;
+        }
+    }
+
+    private static boolean snap(Bucket bucket, ObjectRenderer renderer) {
+        for (int i = 0; i < bucket.size; i++) {
+            if (bucket.items[i] == renderer) {
+                bucket.save(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Bucket bucketFor(int z) {
+        int index = search(z);
+        if (index >= 0) return buckets.get(index);
+        Bucket bucket = new Bucket(z);
+        buckets.add(-index - 1, bucket);
+        return bucket;
+    }
+
+    /** Index of the bucket for z, or -(insertion point) - 1. */
+    private int search(int z) {
+        int lo = 0, hi = buckets.size() - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int midZ = buckets.get(mid).z;
+            if (midZ < z) lo = mid + 1;
+            else if (midZ > z) hi = mid - 1;
+            else return mid;
+        }
+        return -lo - 1;
+    }
+}
@@ -24,6 +24,21 @@ public class Renderer {
 
     private final BufferedImage lightmap; //TODO
 
+    // Last values set, so a recorded frame can start from them and the render thread can skip no-op changes
+    private float alpha = 1f;
+    private Font font;
+    private int lineWidth;
+    private GraphicsFidelity fidelity;
+
+    // Scratch for polygon points after anchoring
+    private int[] anchoredXPoints = new int[16], anchoredYPoints = new int[16];
+
+    // Non-null in pipelined mode: calls are recorded here instead of drawn, see GameCore#setPipelinedRendering
+    private DrawList recorder;
+    // Transform applied by beginObject, undone by endObject
+    private int objectX, objectY;
+    private double objectPivotX, objectPivotY, objectRotation, objectScale;
+
     public final int WIDTH, HEIGHT;
     public final int CENTER_X, CENTER_Y;
 
@@ -60,6 +75,99 @@ public class Renderer {
         this.renderColliders = false;
     }
 
+    /** A renderer drawing to the same buffer as {@code source}, starting from its camera and state; for the render thread. */
+    Renderer(Renderer source) {
+        this.bufferStrategy = source.bufferStrategy;
+        this.graphics = source.graphics;
+        this.lightmap = source.lightmap;
+        this.WIDTH = source.WIDTH;
+        this.HEIGHT = source.HEIGHT;
+        this.CENTER_X = source.CENTER_X;
+        this.CENTER_Y = source.CENTER_Y;
+        this.useScreenCoordinates = source.useScreenCoordinates;
+        this.screenAnchor = source.screenAnchor;
+        this.scale = source.scale;
+        this.cameraX = source.cameraX;
+        this.cameraY = source.cameraY;
+        this.alpha = source.alpha;
+        this.font = source.font;
+        this.lineWidth = source.lineWidth;
+        this.fidelity = source.fidelity;
+        this.renderColliders = source.renderColliders;
+    }
+
+    /**
+     * Records the following calls into {@code list}, starting it with the current camera and drawing
+     * state, or draws directly again if {@code list} is null. While recording, nothing touches
+     * {@link #graphics}; it belongs to the render thread.
+     */
+    void record(DrawList list) {
+        this.recorder = list;
+        if (list == null) return;
+        list.reset();
+        list.fidelity(fidelity);
+        if (font != null) list.font(font);
+        if (lineWidth > 0) list.lineWidth(lineWidth);
+        list.alpha(alpha);
+        list.anchor(screenAnchor);
+        list.screenCoordinates(useScreenCoordinates);
+        list.camera(cameraX, cameraY, scale);
+    }
+
+    /** Takes over {@link #graphics} after direct drawing resumes; {@code display} is the renderer that drew with it meanwhile. */
+    void resume(Renderer display) {
+        double zoom = this.scale;
+        this.scale = display.scale;
+        this.setCameraZoom(zoom);
+        this.lineWidth = display.lineWidth;
+        this.fidelity = display.fidelity;
+    }
+
+    /**
+     * Moves the origin to an object's transform, interpolated by {@code alpha} from the previous one, for
+     * its {@code render()}; {@link #endObject()} moves it back.
+     */
+    void beginObject(int prevX, int prevY, double prevScale, double prevRotation,
+                     int x, int y, double scale, double rotation, double pivotX, double pivotY, float alpha) {
+        if (recorder != null) {
+            recorder.beginObject(prevX, prevY, prevScale, prevRotation, x, y, scale, rotation, pivotX, pivotY);
+            return;
+        }
+        if (alpha < 1f) {
+            // Between the transform at the start of the last update and the current one
+            x = (int) Math.round(prevX + (x - prevX) * (double) alpha);
+            y = (int) Math.round(prevY + (y - prevY) * (double) alpha);
+            scale = prevScale + (scale - prevScale) * alpha;
+            rotation = prevRotation + Math.IEEEremainder(rotation - prevRotation, 360) * alpha;
+        }
+
+        if (scale == 0) scale = 1e-6D;  // Avoid zero scaling
+
+        objectX = x;
+        objectY = y;
+        objectPivotX = pivotX;
+        objectPivotY = pivotY;
+        objectRotation = rotation;
+        objectScale = scale;
+        graphics.translate(x, y);
+        graphics.translate(pivotX, pivotY);
+        graphics.rotate(Math.toRadians(rotation));
+        graphics.translate(-pivotX, -pivotY);
+        graphics.scale(scale, scale);
+    }
+
+    void endObject() {
+        if (recorder != null) {
+            recorder.endObject();
+            return;
+        }
+        graphics.scale(1d/objectScale, 1d/objectScale);
+        graphics.translate(objectPivotX, objectPivotY);
+        graphics.rotate(-Math.toRadians(objectRotation));
+        graphics.translate(-objectPivotX, -objectPivotY);
+        graphics.translate(-objectX, -objectY);
+    }
+
     public boolean isRenderColliders() {
         return renderColliders;
     }
@@ -69,6 +177,11 @@ public class Renderer {
     }
 
     public void setGraphicsFidelity(GraphicsFidelity gq) {
+        fidelity = gq;
+        if (recorder != null) {
+            recorder.fidelity(gq);
+            return;
+        }
         graphics.setRenderingHints(new HashMap<>());
         if (gq.useAAForTextOnly()) {
             graphics.addRenderingHints(new RenderingHints(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF));
@@ -99,7 +212,13 @@ public class Renderer {
         }
     }
 
+    /** Applies the fidelity unless it is already set. */
+    void applyGraphicsFidelity(GraphicsFidelity gq) {
+        if (gq != fidelity) setGraphicsFidelity(gq);
+    }
+
     public void clear() {
+        if (recorder != null) return;
         double s = this.getCameraZoom();
         this.setCameraZoom(1);
         graphics.clearRect(0, 0, WIDTH, HEIGHT);
@@ -108,93 +227,148 @@ public class Renderer {
 
 
     public void show() {
+        if (recorder != null) return;
         bufferStrategy.show();
     }
 
     public void fillRect(int x, int y, int w, int h, Color color) {
+        if (recorder != null) {
+            recorder.shape(DrawList.FILL_RECT, x, y, w, h, color);
+            return;
+        }
         graphics.setColor(color);
         graphics.fillRect(anchoredX(x), anchoredY(y), w, h);
     }
 
     public void fillSquare(int x, int y, int length, Color color) {
+        if (recorder != null) {
+            recorder.shape(DrawList.FILL_RECT, x, y, length, length, color);
+            return;
+        }
         graphics.setColor(color);
         graphics.fillRect(anchoredX(x), anchoredY(y), length, length);
     }
 
     public void fillOval(int x, int y, int w, int h, Color color) {
+        if (recorder != null) {
+            recorder.shape(DrawList.FILL_OVAL, x, y, w, h, color);
+            return;
+        }
         graphics.setColor(color);
         graphics.fillOval(anchoredX(x), anchoredY(y), w, h);
     }
 
     public void fillCircle(int x, int y, int radius, Color color) {
+        if (recorder != null) {
+            recorder.shape(DrawList.FILL_OVAL, x, y, radius, radius, color);
+            return;
+        }
         graphics.setColor(color);
         graphics.fillOval(anchoredX(x), anchoredY(y), radius, radius);
     }
 
     public void drawRect(int x, int y, int w, int h, Color color) {
+        if (recorder != null) {
+            recorder.shape(DrawList.DRAW_RECT, x, y, w, h, color);
+            return;
+        }
         graphics.setColor(color);
         graphics.drawRect(anchoredX(x), anchoredY(y), w, h);
     }
 
     public void drawSquare(int x, int y, int length, Color color) {
+        if (recorder != null) {
+            recorder.shape(DrawList.DRAW_RECT, x, y, length, length, color);
+            return;
+        }
         graphics.setColor(color);
         graphics.drawRect(anchoredX(x), anchoredY(y), length, length);
     }
 
     public void drawOval(int x, int y, int w, int h, Color color) {
+        if (recorder != null) {
+            recorder.shape(DrawList.DRAW_OVAL, x, y, w, h, color);
+            return;
+        }
         graphics.setColor(color);
         graphics.drawOval(anchoredX(x), anchoredY(y), w, h);
     }
 
     public void drawCircle(int x, int y, int radius, Color color) {
+        if (recorder != null) {
+            recorder.shape(DrawList.DRAW_OVAL, x, y, radius, radius, color);
+            return;
+        }
         graphics.setColor(color);
         graphics.drawOval(anchoredX(x), anchoredY(y), radius, radius);
     }
 
     public void fillPolygon(int[] xPoints, int[] yPoints, int nPoints, Color color) {
-        graphics.setColor(color);
-        int[] anchoredXPoints = new int[nPoints];
-        int[] anchoredYPoints = new int[nPoints];
-        for (int i = 0; i < nPoints; i++) {
-            anchoredXPoints[i] = anchoredX(xPoints[i]);
-            anchoredYPoints[i] = anchoredY(yPoints[i]);
+        if (recorder != null) {
+            recorder.polygon(true, xPoints, yPoints, nPoints, color);
+            return;
         }
+        graphics.setColor(color);
+        anchorPolygon(xPoints, yPoints, nPoints);
         graphics.fillPolygon(anchoredXPoints, anchoredYPoints, nPoints);
     }
 
     public void drawPolygon(int[] xPoints, int[] yPoints, int nPoints, Color color) {
-        graphics.setColor(color);
-        int[] anchoredXPoints = new int[nPoints];
-        int[] anchoredYPoints = new int[nPoints];
-        for (int i = 0; i < nPoints; i++) {
-            anchoredXPoints[i] = anchoredX(xPoints[i]);
-            anchoredYPoints[i] = anchoredY(yPoints[i]);
+        if (recorder != null) {
+            recorder.polygon(false, xPoints, yPoints, nPoints, color);
+            return;
         }
+        graphics.setColor(color);
+        anchorPolygon(xPoints, yPoints, nPoints);
         graphics.drawPolygon(anchoredXPoints, anchoredYPoints, nPoints);
     }
 
     public void drawLine(int x1, int y1, int x2, int y2, Color color) {
+        if (recorder != null) {
+            recorder.line(x1, y1, x2, y2, color);
+            return;
+        }
         graphics.setColor(color);
         graphics.drawLine(anchoredX(x1), anchoredY(y1), anchoredX(x2), anchoredY(y2));
     }
 
     public void drawImage(Image img, int x, int y) {
+        if (recorder != null) {
+            recorder.image(img, x, y, -1, -1, null);
+            return;
+        }
         graphics.drawImage(img, anchoredX(x), anchoredY(y), null);
     }
 
     public void drawImage(Image img, int x, int y, Color bgColor) {
+        if (recorder != null) {
+            recorder.image(img, x, y, -1, -1, bgColor);
+            return;
+        }
         graphics.drawImage(img, anchoredX(x), anchoredY(y), bgColor, null);
     }
 
     public void drawImage(Image img, int x, int y, int w, int h) {
+        if (recorder != null) {
+            recorder.image(img, x, y, w, h, null);
+            return;
+        }
         graphics.drawImage(img, anchoredX(x), anchoredY(y), w, h, null);
     }
 
     public void drawImage(Image img, int x, int y, int w, int h, Color bgColor) {
+        if (recorder != null) {
+            recorder.image(img, x, y, w, h, bgColor);
+            return;
+        }
         graphics.drawImage(img, anchoredX(x), anchoredY(y), w, h, bgColor, null);
     }
 
     public void drawImage(Image img, int x, int y, float scale) {
+        if (recorder != null) {
+            recorder.image(img, x, y, (int) (img.getWidth(null) * scale), (int) (img.getHeight(null) * scale), null);
+            return;
+        }
         graphics.drawImage(
                 img,
                 anchoredX(x),
@@ -206,6 +380,10 @@ public class Renderer {
     }
 
     public void drawImage(Image img, int x, int y, float scale, Color bgColor) {
+        if (recorder != null) {
+            recorder.image(img, x, y, (int) (img.getWidth(null) * scale), (int) (img.getHeight(null) * scale), bgColor);
+            return;
+        }
         graphics.drawImage(
                 img,
                 anchoredX(x),
@@ -218,11 +396,19 @@ public class Renderer {
     }
 
     public void drawText(Object string, int x, int y, Color color) {
+        if (recorder != null) {
+            recorder.text(String.valueOf(string), x, y, color);
+            return;
+        }
         graphics.setColor(color);
         graphics.drawString(String.valueOf(string), anchoredX(x), anchoredY(y));
     }
 
     public void shade(int x, int y, int w, int h, Shader shader) {
+        if (recorder != null) {
+            recorder.shade(x, y, w, h, 0, 0, 0, shader);
+            return;
+        }
         int[] pixels = new int[w * h];
 
         for (int px = 0; px < w; px++) {
@@ -237,6 +423,10 @@ public class Renderer {
     }
 
     public void shade(int x, int y, int w, int h, float scale, Shader shader) {
+        if (recorder != null) {
+            recorder.shade(x, y, w, h, 1, scale, 0, shader);
+            return;
+        }
         int[] pixels = new int[w * h];
 
         for (int px = 0; px < w; px++) {
@@ -251,6 +441,10 @@ public class Renderer {
     }
 
     public void shade(int x, int y, int w, int h, float scaleY, float scaleX, Shader shader) {
+        if (recorder != null) {
+            recorder.shade(x, y, w, h, 2, scaleY, scaleX, shader);
+            return;
+        }
         int[] pixels = new int[w * h];
 
         for (int px = 0; px < w; px++) {
@@ -266,10 +460,19 @@ public class Renderer {
     }
 
     public void setAlpha(float alpha) {
+        this.alpha = alpha;
+        if (recorder != null) {
+            recorder.alpha(alpha);
+            return;
+        }
         graphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
     }
 
     public void drawLightmap() {
+        if (recorder != null) {
+            recorder.lightmap();
+            return;
+        }
         this.drawImage(lightmap, 0, 0);
         //TODO: Should clear the lightmap and reset it every frame.
     } //TODO
@@ -311,6 +514,10 @@ public class Renderer {
 
     //TODO
     public void shadeLight(int x, int y, float brightness, Color color, IntUnaryOperator falloff, float cutoff) {
+        if (recorder != null) {
+            recorder.shadeLight(x, y, brightness, color, falloff, cutoff);
+            return;
+        }
         int[] pixels = new int[WIDTH * HEIGHT];
 
         // Loop through every pixel on the screen
@@ -368,21 +575,38 @@ public class Renderer {
     }
 
     public void setFont(Font f) {
+        font = f;
+        if (recorder != null) {
+            recorder.font(f);
+            return;
+        }
         graphics.setFont(f);
     }
 
     public void setLineWidth(int w) {
+        lineWidth = w;
+        if (recorder != null) {
+            recorder.lineWidth(w);
+            return;
+        }
         graphics.setStroke(new BasicStroke(w));
     }
 
+    /** Sets the line width unless it is already set. */
+    void applyLineWidth(int w) {
+        if (w != lineWidth) setLineWidth(w);
+    }
+
     public void setCameraPos(int x, int y) {
         cameraX = x;
         cameraY = y;
+        if (recorder != null) recorder.camera(cameraX, cameraY, this.scale);
     }
 
     public void moveCameraPos(int dx, int dy) {
         cameraX += dx;
         cameraY += dy;
+        if (recorder != null) recorder.camera(cameraX, cameraY, this.scale);
     }
 
     public int getCameraX() {
@@ -402,6 +626,11 @@ public class Renderer {
     }
 
     public void setCameraZoom(double scale) {
+        if (recorder != null) {
+            this.scale = Math.abs(scale);
+            recorder.camera(cameraX, cameraY, this.scale);
+            return;
+        }
         graphics.translate(this.CENTER_X, this.CENTER_Y);
 
         double adjustedScale = Math.abs(scale) / this.scale;
@@ -417,6 +646,10 @@ public class Renderer {
 
     public void setUseScreenCoordinates(boolean useScreenCoordinates) {
         this.useScreenCoordinates = useScreenCoordinates;
+        if (recorder != null) {
+            recorder.screenCoordinates(useScreenCoordinates);
+            return;
+        }
         graphics.translate(this.CENTER_X, this.CENTER_Y);
 
         if (useScreenCoordinates) {
@@ -448,6 +681,7 @@ public class Renderer {
      */
     public void setScreenAnchor(ScreenAnchor anchor) {
         this.screenAnchor = anchor != null ? anchor : ScreenAnchor.TOP_LEFT;
+        if (recorder != null) recorder.anchor(screenAnchor);
     }
 
     /**
@@ -494,5 +728,17 @@ public class Renderer {
         return y + screenAnchor.getYOffset(HEIGHT);
     }
 
+    /** Anchors the points into {@link #anchoredXPoints} and {@link #anchoredYPoints}, growing them if needed. */
+    private void anchorPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+        if (nPoints > anchoredXPoints.length) {
+            anchoredXPoints = new int[Math.max(anchoredXPoints.length * 2, nPoints)];
+            anchoredYPoints = new int[anchoredXPoints.length];
+        }
+        for (int i = 0; i < nPoints; i++) {
+            anchoredXPoints[i] = anchoredX(xPoints[i]);
+            anchoredYPoints[i] = anchoredY(yPoints[i]);
+        }
+    }
+
 
 }
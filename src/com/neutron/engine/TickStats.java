@@ -0,0 +1,105 @@
+package com.neutron.engine;
+
+/**
+ * Timing of the game loop's update ticks (game, scene and object updates plus collision), see
+ * {@link GameCore#getTickStats()}. Written by the loop thread; other threads may read slightly stale values.
+ */
+public final class TickStats {
+
+    private volatile long budgetNanos;
+    private volatile long lastNanos, worstNanos;
+    private volatile double averageNanos;
+    private volatile long ticks, overBudgetTicks, droppedTicks, overruns;
+    private volatile int lastFrameTicks, backlogTicks;
+    private volatile boolean fallingBehind;
+
+    private long windowWorst;
+    private int windowTicks;
+
+    TickStats(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    void setBudgetNanos(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    /** Records one tick; the worst tick is kept over windows of {@code window} ticks. */
+    void recordTick(long nanos, int window) {
+        lastNanos = nanos;
+        averageNanos = ticks == 0 ? nanos : averageNanos + (nanos - averageNanos) * 0.05;
+        ticks++;
+        if (nanos > budgetNanos) overBudgetTicks++;
+        windowWorst = Math.max(windowWorst, nanos);
+        if (++windowTicks >= window) {
+            worstNanos = windowWorst;
+            windowWorst = 0;
+            windowTicks = 0;
+        } else if (windowWorst > worstNanos) {
+            worstNanos = windowWorst;
+        }
+    }
+
+    /** Records a frame that ran {@code frameTicks} ticks and then still owed {@code backlog}, of which {@code dropped} were dropped. */
+    void recordFrame(int frameTicks, int backlog, int dropped) {
+        lastFrameTicks = frameTicks;
+        backlogTicks = backlog - dropped;
+        fallingBehind = backlog > 0;
+        if (dropped > 0) {
+            droppedTicks += dropped;
+            overruns++;
+        }
+    }
+
+    /** Time a tick may take before it counts as over budget, in milliseconds; defaults to the tick length. */
+    public float getBudgetMs() {
+        return budgetNanos / 1_000_000f;
+    }
+
+    public float getLastTickMs() {
+        return lastNanos / 1_000_000f;
+    }
+
+    /** Moving average over roughly the last 20 ticks. */
+    public float getAverageTickMs() {
+        return (float) (averageNanos / 1_000_000);
+    }
+
+    /** Slowest tick in the last second or so. */
+    public float getWorstTickMs() {
+        return worstNanos / 1_000_000f;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public long getOverBudgetTicks() {
+        return overBudgetTicks;
+    }
+
+    /** Ticks skipped by the catch-up limit since the start; game time fell behind real time by this many. */
+    public long getDroppedTicks() {
+        return droppedTicks;
+    }
+
+    /** Frames in which ticks were dropped. */
+    public long getOverruns() {
+        return overruns;
+    }
+
+    /** Ticks run in the last frame. */
+    public int getLastFrameTicks() {
+        return lastFrameTicks;
+    }
+
+    /** Whole ticks still owed after the last frame, carried to the next ones. */
+    public int getBacklogTicks() {
+        return backlogTicks;
+    }
+
+    /** True if the last frame ran the most ticks allowed and still owed some: updates are not keeping up. */
+    public boolean isFallingBehind() {
+        return fallingBehind;
+    }
+}
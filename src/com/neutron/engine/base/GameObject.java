@@ -7,6 +7,8 @@ import com.neutron.engine.func.UniqueId;
 
 public abstract class GameObject {
     private long id = UniqueId.UNASSIGNED; // Unassigned
+    private boolean active = true;
+    private boolean removed;
 
     public GameObject() {
         ObjectHandler.add(this);
@@ -24,9 +26,41 @@ public abstract class GameObject {
         this.id = id;
     }
 
+    /** False while the object sits in its ObjectHandler pool; inactive objects are not updated, rendered or collided. */
+    public boolean isActive() {
+        return active;
+    }
+
+    // Set by ObjectHandler when the object is released to or taken from its pool
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    /** True once ObjectHandler has processed the object's removal. */
+    public boolean isRemoved() {
+        return removed;
+    }
+
+    // Set by ObjectHandler when it processes the removal
+    public void markRemoved() {
+        removed = true;
+    }
+
     public abstract void play(GameCore gameCore);
     public abstract void update(GameCore gameCore, float delta);
 
+    /**
+     * Called when {@link ObjectHandler#obtain} hands this object out again after it was released.
+     * Restore any state that {@link #play} or the constructor would have set up.
+     */
+    public void onReuse(GameCore gameCore) {
+    }
+
+    /** Puts the object back into its pool instead of deleting it; see {@link ObjectHandler#release}. */
+    public void release() {
+        ObjectHandler.release(this);
+    }
+
     public void delete() {
         SoundHelper.cleanup(this.id); // Cleanup sound rules
         ObjectHandler.remove(this);
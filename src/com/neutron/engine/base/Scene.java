@@ -1,25 +1,88 @@
 package com.neutron.engine.base;
 
-import java.util.ArrayList;
+import com.neutron.engine.GameCore;
+import com.neutron.engine.ObjectHandler;
+import com.neutron.engine.Renderer;
+
 import java.util.List;
 
-public abstract class Scene { //TODO work in progress.
-    protected final List<GameObject> gameObjects = new ArrayList<>();
+/**
+ * A level or screen, loaded with {@link ObjectHandler#setScene}. Objects added while a scene is loaded
+ * belong to it and are removed when another scene is loaded.
+ * <p>
+ * With {@link #setActiveRegion}, a scene only updates the objects near the view every tick; the rest of
+ * the world sleeps until the view comes close again, so a large level costs about what is on screen.
+ */
+public abstract class Scene {
+
+    private boolean activeRegion;
+    private double activeMargin;
+    private int dormantUpdateInterval;
 
-    public void addObject(GameObject obj) {
-        gameObjects.add(obj);
+    /** Called when the scene is loaded; create its objects here. */
+    public abstract void play(GameCore gameCore, Renderer r);
+
+    /** Called every update while the scene is loaded, before its objects are updated. */
+    public void update(GameCore gameCore, Renderer r, float delta) {
     }
 
-    public void removeObject(GameObject obj) {
-        gameObjects.remove(obj);
+    /**
+     * Enables update culling. Objects implementing {@link com.neutron.engine.base.interfaces.Transform}
+     * are only updated while their position is within {@code margin} units of the view (in 256 unit cells,
+     * so up to one cell more). Dormant objects are frozen if {@code dormantUpdateInterval} is 0, or else
+     * updated every that many ticks with the time elapsed since their last update; an object waking up
+     * gets the time it missed in its first update. Objects without a transform, and
+     * {@link com.neutron.engine.base.interfaces.AlwaysUpdate} objects, are always updated.
+     * Collision, rendering and interface calls are not affected.
+     */
+    public void setActiveRegion(double margin, int dormantUpdateInterval) {
+        if (margin < 0) throw new IllegalArgumentException("Active region margin must not be negative: " + margin);
+        if (dormantUpdateInterval < 0) {
+            throw new IllegalArgumentException("Dormant update interval must not be negative: " + dormantUpdateInterval);
+        }
+        this.activeRegion = true;
+        this.activeMargin = margin;
+        this.dormantUpdateInterval = dormantUpdateInterval;
     }
 
-    public List<GameObject> getObjects() {
-        return gameObjects;
+    /** Updates every object every tick again. */
+    public void disableActiveRegion() {
+        this.activeRegion = false;
+    }
+
+    public boolean hasActiveRegion() {
+        return activeRegion;
+    }
+
+    public double getActiveMargin() {
+        return activeMargin;
+    }
+
+    public int getDormantUpdateInterval() {
+        return dormantUpdateInterval;
     }
 
-    // Force subclasses to define these
-    public abstract void init();
-    public abstract void update(float deltaTime);
-    public abstract void render();
+    /**
+     * Writes the world area the active region is centred on into {@code out} as min x, min y, max x, max y.
+     * Defaults to what the camera shows; override to follow something else, e.g. the player.
+     */
+    public void getViewBounds(GameCore gameCore, double[] out) {
+        if (gameCore == null) {
+            out[0] = out[1] = Double.NEGATIVE_INFINITY;
+            out[2] = out[3] = Double.POSITIVE_INFINITY;
+            return;
+        }
+        Renderer r = gameCore.getRenderer();
+        double zoom = r.getCameraZoom();
+        int cx = r.getCenterX(), cy = r.getCenterY();
+        out[0] = r.getCameraX() + cx - cx / zoom;
+        out[1] = r.getCameraY() + cy - cy / zoom;
+        out[2] = r.getCameraX() + cx + (r.WIDTH - cx) / zoom;
+        out[3] = r.getCameraY() + cy + (r.HEIGHT - cy) / zoom;
+    }
+
+    /** Live read-only list of the objects belonging to this scene, in the order they were added. */
+    public List<GameObject> getObjects() {
+        return ObjectHandler.getSceneObjects(this);
+    }
 }
@@ -0,0 +1,9 @@
+package com.neutron.engine.base.interfaces;
+
+/**
+ * Marks objects that must be updated every tick even when a scene's active region would put them to
+ * sleep, e.g. spawners or trackers that work far from the view. See
+ * {@link com.neutron.engine.base.Scene#setActiveRegion}.
+ */
+public interface AlwaysUpdate {
+}
@@ -1,5 +1,6 @@
 package com.neutron.engine.base.interfaces;
 
+import com.neutron.engine.Contact;
 import com.neutron.engine.base.GameObject;
 import com.neutron.engine.func.Collider;
 
@@ -7,12 +8,45 @@ import java.util.List;
 
 public interface Collidable extends Transform, Movable {
 
+    int DEFAULT_LAYER = 1;
+    int ALL_LAYERS = ~0;
+
     List<Collider> getColliders();
 
+    /**
+     * Layer bits this collidable belongs to. Two collidables are only tested if each one's layer
+     * matches the other's {@link #getCollisionMask() mask}.
+     */
+    default int getCollisionLayer() {
+        return DEFAULT_LAYER;
+    }
+
+    /** Layer bits this collidable collides with. */
+    default int getCollisionMask() {
+        return ALL_LAYERS;
+    }
+
+    /**
+     * Static collidables never move. They are only refreshed once, and two static collidables are
+     * never tested against each other. Call {@link com.neutron.engine.CollisionManager#markMoved}
+     * if a static collidable is teleported.
+     */
+    default boolean isStatic() {
+        return false;
+    }
+
     default void duringCollision(GameObject other, float delta) {}
 
     default void onEnter(GameObject other, String id) {}
 
     default void onExit(GameObject other, String id) {}
 
+    /**
+     * Called every tick for each pair of touching colliders, after {@link #onEnter} and before
+     * {@link #duringCollision}, with the penetration depth, normal and time of impact. Swept hits, where
+     * a fast collider reached the other during the tick, have a time above 0; this is the one callback
+     * for time-of-impact results. The contact record is reused between calls.
+     */
+    default void onContact(GameObject other, Contact contact) {}
+
 }
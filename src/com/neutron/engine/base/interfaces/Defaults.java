@@ -0,0 +1,13 @@
+package com.neutron.engine.base.interfaces;
+
+/**
+ * Shared boxed values returned by interface defaults, so that calling a default getter does not allocate.
+ */
+final class Defaults {
+
+    static final Double ONE = 1d;
+    static final Double ZERO = 0d;
+
+    private Defaults() {
+    }
+}
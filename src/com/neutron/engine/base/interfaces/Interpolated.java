@@ -0,0 +1,12 @@
+package com.neutron.engine.base.interfaces;
+
+/**
+ * Marks an {@link ObjectRenderer} that is drawn between its transform of the previous tick and its
+ * current one, by {@link com.neutron.engine.GameCore#getInterpolationAlpha()}, so it moves smoothly when
+ * frames outnumber ticks. Rendering lags the simulation by up to one tick. Objects moved from outside
+ * their own update, e.g. teleported, should call {@link com.neutron.engine.ObjectHandler#markMoved} so
+ * they are not drawn sliding across; pooled objects handed out by
+ * {@link com.neutron.engine.ObjectHandler#obtain} do this automatically.
+ */
+public interface Interpolated {
+}
@@ -3,4 +3,12 @@ package com.neutron.engine.base.interfaces;
 public interface Movable {
     Float getVx();
     Float getVy();
+
+    default float vx() {
+        return getVx();
+    }
+
+    default float vy() {
+        return getVy();
+    }
 }
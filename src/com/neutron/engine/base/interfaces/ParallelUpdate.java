@@ -0,0 +1,15 @@
+package com.neutron.engine.base.interfaces;
+
+/**
+ * Marks objects whose {@code update} may run on a worker thread, in parallel with other such objects,
+ * when {@link com.neutron.engine.ObjectHandler#setUpdateThreads} is above 1.
+ * <p>
+ * The update may only write the object's own state, and may only read shared state that nothing writes
+ * during the parallel phase: other parallel objects' state, in particular, is off limits. Objects without
+ * this interface are updated first, on the game thread, so their state can be read safely.
+ * {@code add}, {@code remove}, {@code release} and queued interface calls made from the update are buffered
+ * and applied at the start of the next update in object order, as in a serial update. Use
+ * {@link com.neutron.engine.ObjectHandler#checkParallelUpdate} to check that an object honours this.
+ */
+public interface ParallelUpdate {
+}
@@ -0,0 +1,14 @@
+package com.neutron.engine.base.interfaces;
+
+import com.neutron.engine.GameCore;
+import com.neutron.engine.TickStats;
+
+/**
+ * Notified on the update thread, after the frame's updates, when the game loop fell so far behind that
+ * it dropped ticks (see {@link GameCore#setMaxCatchUpTicks}). Implemented by game objects or the game.
+ */
+public interface TickOverrunListener {
+
+    void onTickOverrun(GameCore gameCore, int droppedTicks, TickStats stats);
+
+}
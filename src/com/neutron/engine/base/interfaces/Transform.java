@@ -1,5 +1,12 @@
 package com.neutron.engine.base.interfaces;
 
+/**
+ * Position, scale, rotation and pivot of an object.
+ * <p>
+ * The engine reads transforms through the primitive accessors ({@link #x()}, {@link #scale()}, ...), which
+ * default to the boxed getters. Implementations that are read every frame should override the primitive
+ * accessors as well so that no {@code Integer}/{@code Double} is created per call.
+ */
 public interface Transform {
 
     Integer getX();
@@ -7,19 +14,43 @@ public interface Transform {
     Integer getY();
 
     default Double getScale() {
-        return 1d;
+        return Defaults.ONE;
     }
 
     default Double getRotation() {
-        return 0d;
+        return Defaults.ZERO;
     }
 
     default Double getPivotX() {
-        return 0d;
+        return Defaults.ZERO;
     }
 
     default Double getPivotY() {
-        return 0d;
+        return Defaults.ZERO;
+    }
+
+    default int x() {
+        return getX();
+    }
+
+    default int y() {
+        return getY();
+    }
+
+    default double scale() {
+        return getScale();
+    }
+
+    default double rotation() {
+        return getRotation();
+    }
+
+    default double pivotX() {
+        return getPivotX();
+    }
+
+    default double pivotY() {
+        return getPivotY();
     }
 
 }
@@ -0,0 +1,41 @@
+package com.neutron.engine.collision;
+
+/**
+ * Produces candidate pairs for the narrowphase in {@link com.neutron.engine.CollisionManager}.
+ * A broadphase only has to be conservative: every pair whose bounds overlap must be reported,
+ * extra pairs are filtered out by the narrowphase.
+ */
+public interface Broadphase {
+
+    void add(CollisionBody body);
+
+    void remove(CollisionBody body);
+
+    void clear();
+
+    /** Called once per tick after every body's bounds have been refreshed. */
+    void update();
+
+    /**
+     * Reports every candidate pair exactly once. The body with the lower object id is passed first.
+     * Pairs where both bodies are {@link CollisionBody#isStatic() static}, or whose layers
+     * don't match ({@link CollisionBody#canCollide(CollisionBody)}), are never reported.
+     */
+    void findPairs(PairCallback callback);
+
+    /**
+     * Reports every non-empty body whose bounds overlap the given box exactly once, in no particular
+     * order. Bounds are those of the last {@link #update()}.
+     */
+    void query(double minX, double minY, double maxX, double maxY, BodyCallback callback);
+
+    @FunctionalInterface
+    interface PairCallback {
+        void onPair(CollisionBody a, CollisionBody b);
+    }
+
+    @FunctionalInterface
+    interface BodyCallback {
+        void onBody(CollisionBody body);
+    }
+}
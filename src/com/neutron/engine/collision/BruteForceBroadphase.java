@@ -0,0 +1,53 @@
+package com.neutron.engine.collision;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reports every registered pair. O(n²), kept as a reference to compare other broadphases against.
+ */
+public class BruteForceBroadphase implements Broadphase {
+    private final List<CollisionBody> bodies = new ArrayList<>();
+
+    @Override
+    public void add(CollisionBody body) {
+        bodies.add(body);
+    }
+
+    @Override
+    public void remove(CollisionBody body) {
+        bodies.remove(body);
+    }
+
+    @Override
+    public void clear() {
+        bodies.clear();
+    }
+
+    @Override
+    public void update() {
+    }
+
+    @Override
+    public void findPairs(PairCallback callback) {
+        for (int i = 0; i < bodies.size(); i++) {
+            CollisionBody a = bodies.get(i);
+            if (a.isEmpty()) continue;
+            for (int j = i + 1; j < bodies.size(); j++) {
+                CollisionBody b = bodies.get(j);
+                if (b.isEmpty() || (a.isStatic() && b.isStatic()) || !a.canCollide(b)) continue;
+                if (a.id <= b.id) callback.onPair(a, b);
+                else callback.onPair(b, a);
+            }
+        }
+    }
+
+    @Override
+    public void query(double minX, double minY, double maxX, double maxY, BodyCallback callback) {
+        for (int i = 0; i < bodies.size(); i++) {
+            CollisionBody body = bodies.get(i);
+            if (body.isEmpty() || !body.overlaps(minX, minY, maxX, maxY)) continue;
+            callback.onBody(body);
+        }
+    }
+}
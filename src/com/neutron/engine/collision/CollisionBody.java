@@ -0,0 +1,264 @@
+package com.neutron.engine.collision;
+
+import com.neutron.engine.base.GameObject;
+import com.neutron.engine.base.interfaces.Collidable;
+import com.neutron.engine.func.Collider;
+import com.neutron.engine.func.Collider.CircleCollider;
+import com.neutron.engine.func.Collider.RectangleCollider;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Engine-side state for one registered {@link Collidable}.
+ * Holds world-space copies of its colliders and the bounds the broadphase works on.
+ * Both are refreshed once per tick into reused buffers, so the narrowphase never allocates.
+ */
+public final class CollisionBody {
+    /** Padding so bounds stay conservative against the collider intersection tolerance. */
+    private static final double MARGIN = 0.5;
+
+    public final Collidable collidable;
+    public final GameObject object;
+    public final long id;
+
+    /** World-space bounds of all colliders, widened by this tick's motion. */
+    public double minX, minY, maxX, maxY;
+    private boolean empty = true;
+
+    /** This tick's motion, {@code velocity * delta}. */
+    public float dx, dy;
+
+    /**
+     * World-space colliders. Rectangles use x/y/width/height; circles use x/y as the centre and
+     * width as the radius.
+     */
+    public int colliderCount;
+    public boolean[] circle = new boolean[2];
+    public double[] colliderX = new double[2];
+    public double[] colliderY = new double[2];
+    public double[] colliderWidth = new double[2];
+    public double[] colliderHeight = new double[2];
+    public String[] colliderIds = new String[2];
+
+    /** Effective layer/mask per collider, and the union over all colliders. */
+    public int[] colliderLayer = new int[2];
+    public int[] colliderMask = new int[2];
+    public int layer, mask;
+
+    /** Position in the CollisionManager's body list, for swap-removal. */
+    public int index;
+
+    /** Slot reserved for the active broadphase's per-body data. */
+    public Object proxy;
+
+    /**
+     * This body's pairs in each {@link PairCache}, indexed by the cache's side: the other body, and the
+     * collider indices of body A and body B, two ints per pair.
+     */
+    final CollisionBody[][] pairOthers = new CollisionBody[PairCache.SIDES][4];
+    final int[][] pairColliders = new int[PairCache.SIDES][8];
+    final int[] pairCounts = new int[PairCache.SIDES];
+
+    private boolean isStatic;
+    private boolean sleeping;
+    private boolean refreshed;
+    private int stillTicks;
+    private int lastX, lastY;
+    private double lastScale;
+    private List<Collider> lastColliders;
+
+    public CollisionBody(Collidable collidable) {
+        this.collidable = collidable;
+        this.object = (GameObject) collidable;
+        this.id = object.getId();
+    }
+
+    /** True if the body had no colliders at the last refresh. */
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /** True if the body is declared static, or was asleep at the last {@link #update}. */
+    public boolean isStatic() {
+        return isStatic;
+    }
+
+    /** True if a non-static body was put to sleep at the last {@link #update}. */
+    public boolean isSleeping() {
+        return sleeping;
+    }
+
+    /** Forces a refresh on the next update, even for static bodies. */
+    public void markMoved() {
+        refreshed = false;
+        wake();
+    }
+
+    /** Ends a sleep right away; the body is refreshed every tick until it is still for long enough again. */
+    public void wake() {
+        stillTicks = 0;
+        if (!sleeping) return;
+        sleeping = false;
+        isStatic = false;
+    }
+
+    /**
+     * Per-tick refresh. Declared statics are refreshed only once. Other bodies are refreshed every
+     * tick and, if {@code sleepAfter > 0}, go to sleep once they have not moved or had any velocity
+     * for that many ticks in a row. A sleeping body counts as static and keeps its colliders
+     * without a refresh until its transform, velocity or collider list changes.
+     */
+    public void update(float delta, int sleepAfter) {
+        if (!object.isActive()) {
+            deactivate();
+            return;
+        }
+        if (collidable.isStatic()) {
+            if (!isStatic || !refreshed) refresh(delta);
+            isStatic = true;
+            sleeping = false;
+            return;
+        }
+        if (sleeping && refreshed && sleepAfter > 0 && isUnchanged()) return;
+
+        int oldX = lastX, oldY = lastY;
+        double oldScale = lastScale;
+        boolean wasRefreshed = refreshed;
+        refresh(delta);
+
+        boolean still = wasRefreshed && dx == 0 && dy == 0
+                && lastX == oldX && lastY == oldY && lastScale == oldScale;
+        stillTicks = still ? stillTicks + 1 : 0;
+        sleeping = sleepAfter > 0 && stillTicks >= sleepAfter;
+        isStatic = sleeping;
+    }
+
+    /** Pooled objects keep their body but have no colliders, so their pairs end and the broadphase skips them. */
+    private void deactivate() {
+        colliderCount = 0;
+        empty = true;
+        dx = dy = 0;
+        refreshed = false;
+        isStatic = false;
+        sleeping = false;
+        stillTicks = 0;
+    }
+
+    /** Cheap check that a refresh would produce the same colliders and no motion. */
+    private boolean isUnchanged() {
+        return collidable.vx() == 0 && collidable.vy() == 0
+                && collidable.x() == lastX && collidable.y() == lastY
+                && collidable.scale() == lastScale && collidable.getColliders() == lastColliders;
+    }
+
+    void clearPairs(int side) {
+        Arrays.fill(pairOthers[side], 0, pairCounts[side], null);
+        pairCounts[side] = 0;
+    }
+
+    /** Layer filter; one AND per direction, checked before any geometry. */
+    public boolean canCollide(CollisionBody other) {
+        return (layer & other.mask) != 0 && (other.layer & mask) != 0;
+    }
+
+    public boolean canCollide(int collider, CollisionBody other, int otherCollider) {
+        return (colliderLayer[collider] & other.colliderMask[otherCollider]) != 0
+                && (other.colliderLayer[otherCollider] & colliderMask[collider]) != 0;
+    }
+
+    public boolean overlaps(CollisionBody other) {
+        return overlaps(other.minX, other.minY, other.maxX, other.maxY);
+    }
+
+    public boolean overlaps(double minX, double minY, double maxX, double maxY) {
+        return this.minX <= maxX && this.maxX >= minX
+                && this.minY <= maxY && this.maxY >= minY;
+    }
+
+    /**
+     * Copies the colliders into world space from the current transform and velocity,
+     * and recomputes the bounds.
+     */
+    public void refresh(float delta) {
+        List<Collider> colliders = collidable.getColliders();
+        lastColliders = colliders;
+        colliderCount = 0;
+        empty = true;
+        dx = dy = 0;
+        refreshed = true;
+        if (colliders == null) return;
+        ensureCapacity(colliders.size());
+
+        int ownLayer = collidable.getCollisionLayer();
+        int ownMask = collidable.getCollisionMask();
+        layer = 0;
+        mask = 0;
+
+        double scale = collidable.scale();
+        int xOff = collidable.x();
+        int yOff = collidable.y();
+        lastX = xOff;
+        lastY = yOff;
+        lastScale = scale;
+        refreshed = true;
+        double x0 = Double.POSITIVE_INFINITY, y0 = Double.POSITIVE_INFINITY;
+        double x1 = Double.NEGATIVE_INFINITY, y1 = Double.NEGATIVE_INFINITY;
+
+        for (int i = 0; i < colliders.size(); i++) {
+            Collider c = colliders.get(i);
+            int n = colliderCount;
+            if (c instanceof RectangleCollider r) {
+                circle[n] = false;
+                colliderX[n] = r.x * scale + xOff;
+                colliderY[n] = r.y * scale + yOff;
+                colliderWidth[n] = r.width * scale;
+                colliderHeight[n] = r.height * scale;
+                x0 = Math.min(x0, colliderX[n]);
+                y0 = Math.min(y0, colliderY[n]);
+                x1 = Math.max(x1, colliderX[n] + colliderWidth[n]);
+                y1 = Math.max(y1, colliderY[n] + colliderHeight[n]);
+            } else if (c instanceof CircleCollider ci) {
+                circle[n] = true;
+                colliderX[n] = ci.x * scale + xOff;
+                colliderY[n] = ci.y * scale + yOff;
+                colliderWidth[n] = ci.radius * scale;
+                colliderHeight[n] = colliderWidth[n];
+                x0 = Math.min(x0, colliderX[n] - colliderWidth[n]);
+                y0 = Math.min(y0, colliderY[n] - colliderWidth[n]);
+                x1 = Math.max(x1, colliderX[n] + colliderWidth[n]);
+                y1 = Math.max(y1, colliderY[n] + colliderWidth[n]);
+            } else {
+                continue;
+            }
+            colliderIds[n] = c.getId();
+            colliderLayer[n] = c.overridesLayers() ? c.getLayer() : ownLayer;
+            colliderMask[n] = c.overridesLayers() ? c.getMask() : ownMask;
+            layer |= colliderLayer[n];
+            mask |= colliderMask[n];
+            colliderCount++;
+        }
+
+        dx = collidable.vx() * delta;
+        dy = collidable.vy() * delta;
+        if (colliderCount == 0) return;
+
+        minX = Math.min(x0, x0 + dx) - MARGIN;
+        minY = Math.min(y0, y0 + dy) - MARGIN;
+        maxX = Math.max(x1, x1 + dx) + MARGIN;
+        maxY = Math.max(y1, y1 + dy) + MARGIN;
+        empty = false;
+    }
+
+    private void ensureCapacity(int n) {
+        if (n <= circle.length) return;
+        circle = Arrays.copyOf(circle, n);
+        colliderX = Arrays.copyOf(colliderX, n);
+        colliderY = Arrays.copyOf(colliderY, n);
+        colliderWidth = Arrays.copyOf(colliderWidth, n);
+        colliderHeight = Arrays.copyOf(colliderHeight, n);
+        colliderIds = Arrays.copyOf(colliderIds, n);
+        colliderLayer = Arrays.copyOf(colliderLayer, n);
+        colliderMask = Arrays.copyOf(colliderMask, n);
+    }
+}
@@ -0,0 +1,322 @@
+package com.neutron.engine.collision;
+
+import com.neutron.engine.func.Collider;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Candidate pairs for one tick and the geometry tests run on them.
+ * Pairs can be tested on several threads since the tests only read the cached {@link CollisionBody}
+ * buffers. Hits are then sorted by object ids, then collider indices, so the order they are handed
+ * back in does not depend on the broadphase or the thread count.
+ */
+public final class Narrowphase {
+    /** Below this many pairs per shard the fork/join overhead outweighs the work. */
+    private static final int MIN_PAIRS_PER_SHARD = 256;
+
+    private CollisionBody[] pairA = new CollisionBody[256];
+    private CollisionBody[] pairB = new CollisionBody[256];
+    private int pairCount;
+
+    /** Hits carried over from the last tick without a test, e.g. between two sleeping bodies. */
+    private CollisionBody[] keptA = new CollisionBody[16];
+    private CollisionBody[] keptB = new CollisionBody[16];
+    private int[] keptColliders = new int[16 * 2];
+    private float[] keptContacts = new float[16 * CONTACT_STRIDE];
+    private int keptCount;
+
+    private Shard[] shards = new Shard[0];
+
+    /** Floats per hit in the contact buffers: time, normal x, normal y, depth. */
+    private static final int CONTACT_STRIDE = 4;
+
+    /**
+     * All hits of the tick. hitOrder is sorted and maps each sorted hit back to its slot in the
+     * unsorted per-hit arrays (candidate index, collider indices and contact).
+     */
+    private int[] hitOrder = new int[64];
+    private int[] hitColliders = new int[64 * 2];
+    private int[] hitPairs = new int[64];
+    private float[] hitContacts = new float[64 * CONTACT_STRIDE];
+    private int hitCount;
+    /** First hit of each run of hits of one pair, and the run's sort keys, see {@link PairSort}. */
+    private int[] runStarts = new int[64];
+    private long[] sortIdsA = new long[64], sortIdsB = new long[64], sortColliders = new long[64];
+
+    public Narrowphase() {
+        setThreads(1);
+    }
+
+    public void setThreads(int threads) {
+        if (threads < 1) throw new IllegalArgumentException("Threads must be at least 1: " + threads);
+        shards = new Shard[threads];
+        for (int i = 0; i < threads; i++) shards[i] = new Shard();
+    }
+
+    public int getThreads() {
+        return shards.length;
+    }
+
+    public void clear() {
+        pairCount = 0;
+        keptCount = 0;
+    }
+
+    /** Records a candidate pair; {@code a} must have the lower id. */
+    public void add(CollisionBody a, CollisionBody b) {
+        if (pairCount == pairA.length) {
+            pairA = Arrays.copyOf(pairA, pairCount * 2);
+            pairB = Arrays.copyOf(pairB, pairCount * 2);
+        }
+        pairA[pairCount] = a;
+        pairB[pairCount++] = b;
+    }
+
+    /**
+     * Adds a hit without testing it, with the contact it had when it was last tested.
+     * It is sorted in with the tested hits; the pair must not also be added as a candidate.
+     */
+    public void keep(CollisionBody a, CollisionBody b, int colliderA, int colliderB,
+                     float time, float normalX, float normalY, float depth) {
+        if (keptCount == keptA.length) {
+            keptA = Arrays.copyOf(keptA, keptCount * 2);
+            keptB = Arrays.copyOf(keptB, keptCount * 2);
+            keptColliders = Arrays.copyOf(keptColliders, keptCount * 4);
+            keptContacts = Arrays.copyOf(keptContacts, keptCount * 2 * CONTACT_STRIDE);
+        }
+        keptA[keptCount] = a;
+        keptB[keptCount] = b;
+        keptColliders[keptCount * 2] = colliderA;
+        keptColliders[keptCount * 2 + 1] = colliderB;
+        int c = keptCount * CONTACT_STRIDE;
+        keptContacts[c] = time;
+        keptContacts[c + 1] = normalX;
+        keptContacts[c + 2] = normalY;
+        keptContacts[c + 3] = depth;
+        keptCount++;
+    }
+
+    public int pairCount() {
+        return pairCount;
+    }
+
+    /** Tests every candidate pair and collects the sorted hits, together with the kept ones. */
+    public void run() {
+        int used = Math.max(1, Math.min(shards.length, pairCount / MIN_PAIRS_PER_SHARD));
+        int per = (pairCount + used - 1) / used;
+        for (int s = 0; s < used; s++) {
+            Shard shard = shards[s];
+            shard.reinitialize();
+            shard.from = Math.min(pairCount, s * per);
+            shard.to = Math.min(pairCount, shard.from + per);
+        }
+
+        // The calling thread takes the first shard itself, the rest go to the common pool
+        for (int s = 1; s < used; s++) shards[s].fork();
+        shards[0].compute();
+        for (int s = 1; s < used; s++) shards[s].join();
+
+        hitCount = 0;
+        for (int s = 0; s < used; s++) {
+            Shard shard = shards[s];
+            ensureHitCapacity(hitCount + shard.hitCount);
+            System.arraycopy(shard.colliders, 0, hitColliders, hitCount * 2, shard.hitCount * 2);
+            System.arraycopy(shard.pairs, 0, hitPairs, hitCount, shard.hitCount);
+            System.arraycopy(shard.contacts, 0, hitContacts, hitCount * CONTACT_STRIDE,
+                    shard.hitCount * CONTACT_STRIDE);
+            hitCount += shard.hitCount;
+        }
+
+        // Kept hits point at pair slots past the tested candidates
+        ensureHitCapacity(hitCount + keptCount);
+        if (pairCount + keptCount > pairA.length) {
+            pairA = Arrays.copyOf(pairA, pairCount + keptCount);
+            pairB = Arrays.copyOf(pairB, pairCount + keptCount);
+        }
+        System.arraycopy(keptA, 0, pairA, pairCount, keptCount);
+        System.arraycopy(keptB, 0, pairB, pairCount, keptCount);
+        System.arraycopy(keptColliders, 0, hitColliders, hitCount * 2, keptCount * 2);
+        System.arraycopy(keptContacts, 0, hitContacts, hitCount * CONTACT_STRIDE, keptCount * CONTACT_STRIDE);
+        for (int k = 0; k < keptCount; k++) hitPairs[hitCount + k] = pairCount + k;
+        hitCount += keptCount;
+        sortHits();
+    }
+
+    /**
+     * The hits of a tested pair are adjacent and already in collider order, and each kept hit is its own
+     * pair, so only the runs of hits per pair are sorted, keyed by their first hit.
+     */
+    private void sortHits() {
+        int runs = 0;
+        for (int h = 0; h < hitCount; h++) {
+            if (h > 0 && hitPairs[h] == hitPairs[h - 1]) continue;
+            int p = hitPairs[h];
+            sortIdsA[runs] = pairA[p].id;
+            sortIdsB[runs] = pairB[p].id;
+            sortColliders[runs] = PairSort.colliders(hitColliders[h * 2], hitColliders[h * 2 + 1]);
+            runStarts[runs++] = h;
+        }
+        PairSort.sort(sortIdsA, sortIdsB, sortColliders, runStarts, 0, runs - 1);
+        int n = 0;
+        for (int r = 0; r < runs; r++) {
+            int h = runStarts[r], p = hitPairs[h];
+            do {
+                hitOrder[n++] = h++;
+            } while (h < hitCount && hitPairs[h] == p);
+        }
+    }
+
+    public int hitCount() {
+        return hitCount;
+    }
+
+    /** Collider index in body A of the hit. */
+    public int hitColliderA(int hit) {
+        return hitColliders[hitOrder[hit] * 2];
+    }
+
+    public int hitColliderB(int hit) {
+        return hitColliders[hitOrder[hit] * 2 + 1];
+    }
+
+    /** True if both hits are between the same two bodies; such hits are adjacent. */
+    public boolean samePair(int hit, int other) {
+        return hitBodyA(hit) == hitBodyA(other) && hitBodyB(hit) == hitBodyB(other);
+    }
+
+    public CollisionBody hitBodyA(int hit) {
+        return pairA[hitPairs[hitOrder[hit]]];
+    }
+
+    public CollisionBody hitBodyB(int hit) {
+        return pairB[hitPairs[hitOrder[hit]]];
+    }
+
+    /** Fraction of the tick at which the colliders first touched; 0 if they already overlapped. */
+    public float hitTime(int hit) {
+        return hitContacts[hitOrder[hit] * CONTACT_STRIDE];
+    }
+
+    /** Contact normal pointing from B towards A. */
+    public float hitNormalX(int hit) {
+        return hitContacts[hitOrder[hit] * CONTACT_STRIDE + 1];
+    }
+
+    public float hitNormalY(int hit) {
+        return hitContacts[hitOrder[hit] * CONTACT_STRIDE + 2];
+    }
+
+    /** Penetration depth along the normal; negative for swept hits (the gap still to close). */
+    public float hitDepth(int hit) {
+        return hitContacts[hitOrder[hit] * CONTACT_STRIDE + 3];
+    }
+
+    private void ensureHitCapacity(int n) {
+        if (n <= hitOrder.length) return;
+        int size = Math.max(n, hitOrder.length * 2);
+        hitOrder = Arrays.copyOf(hitOrder, size);
+        hitColliders = Arrays.copyOf(hitColliders, size * 2);
+        runStarts = new int[size];
+        sortIdsA = new long[size];
+        sortIdsB = new long[size];
+        sortColliders = new long[size];
+        hitPairs = Arrays.copyOf(hitPairs, size);
+        hitContacts = Arrays.copyOf(hitContacts, size * CONTACT_STRIDE);
+    }
+
+    private final class Shard extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        int from, to;
+        final float[] scratch = new float[CONTACT_STRIDE];
+        int[] colliders = new int[64 * 2];
+        int[] pairs = new int[64];
+        float[] contacts = new float[64 * CONTACT_STRIDE];
+        int hitCount;
+
+        @Override
+        protected void compute() {
+            hitCount = 0;
+            for (int p = from; p < to; p++) {
+                CollisionBody a = pairA[p], b = pairB[p];
+                for (int i = 0; i < a.colliderCount; i++) {
+                    for (int j = 0; j < b.colliderCount; j++) {
+                        if (!a.canCollide(i, b, j) || !test(a, i, b, j, scratch)) continue;
+                        if (hitCount == pairs.length) {
+                            colliders = Arrays.copyOf(colliders, hitCount * 4);
+                            pairs = Arrays.copyOf(pairs, hitCount * 2);
+                            contacts = Arrays.copyOf(contacts, hitCount * 2 * CONTACT_STRIDE);
+                        }
+                        colliders[hitCount * 2] = i;
+                        colliders[hitCount * 2 + 1] = j;
+                        pairs[hitCount] = p;
+                        System.arraycopy(scratch, 0, contacts, hitCount * CONTACT_STRIDE, CONTACT_STRIDE);
+                        hitCount++;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests collider {@code i} of {@code a} against collider {@code j} of {@code b} over the tick and
+     * writes the contact to {@code out} as {time, normalX, normalY, depth}, the normal pointing from B to A.
+     * Colliders that already overlap hit at time 0 with their penetration depth; otherwise the relative
+     * motion of the two is swept and the depth is minus the gap that closes at the time of impact.
+     */
+    public static boolean test(CollisionBody a, int i, CollisionBody b, int j, float[] out) {
+        double ax = a.colliderX[i], ay = a.colliderY[i], aw = a.colliderWidth[i], ah = a.colliderHeight[i];
+        double bx = b.colliderX[j], by = b.colliderY[j], bw = b.colliderWidth[j], bh = b.colliderHeight[j];
+        boolean circleA = a.circle[i], circleB = b.circle[j];
+
+        // 1. Discrete check
+        if (!circleA && !circleB) {
+            if (Collider.rectanglesIntersect(ax, ay, aw, ah, bx, by, bw, bh)) {
+                Penetration.rectangles(ax, ay, aw, ah, bx, by, bw, bh, out);
+                return true;
+            }
+        } else if (circleA && circleB) {
+            if (Collider.circlesIntersect(ax, ay, aw, bx, by, bw)) {
+                Penetration.circles(ax, ay, aw, bx, by, bw, out);
+                return true;
+            }
+        } else if (circleA) {
+            if (Collider.circleRectangleIntersect(ax, ay, aw, bx, by, bw, bh)) {
+                Penetration.circleRectangle(ax, ay, aw, bx, by, bw, bh, out);
+                return true;
+            }
+        } else if (Collider.circleRectangleIntersect(bx, by, bw, ax, ay, aw, ah)) {
+            Penetration.circleRectangle(bx, by, bw, ax, ay, aw, ah, out);
+            flipNormal(out);
+            return true;
+        }
+
+        // 2. Sweep A against B at rest, only if non‐trivial relative motion
+        float dx = a.dx - b.dx, dy = a.dy - b.dy;
+        if (Math.abs(dx) <= 1e-3f && Math.abs(dy) <= 1e-3f) return false;
+
+        float time;
+        if (!circleA && !circleB) {
+            time = TimeOfImpact.rectangles(ax, ay, aw, ah, dx, dy, bx, by, bw, bh, out);
+        } else if (circleA && circleB) {
+            time = TimeOfImpact.circles(ax, ay, aw, dx, dy, bx, by, bw, out);
+        } else if (circleA) {
+            time = TimeOfImpact.circleRectangle(ax, ay, aw, dx, dy, bx, by, bw, bh, out);
+        } else {
+            // Rectangle A vs. circle B: sweep the circle the other way and flip the normal back
+            time = TimeOfImpact.circleRectangle(bx, by, bw, -dx, -dy, ax, ay, aw, ah, out);
+            if (time != TimeOfImpact.MISS) flipNormal(out);
+        }
+        if (time == TimeOfImpact.MISS) return false;
+
+        // The normal opposes the motion, so this is minus the distance covered before touching
+        out[3] = time * (dx * out[1] + dy * out[2]);
+        return true;
+    }
+
+    private static void flipNormal(float[] out) {
+        out[1] = -out[1];
+        out[2] = -out[2];
+    }
+}
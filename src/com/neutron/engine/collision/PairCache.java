@@ -0,0 +1,293 @@
+package com.neutron.engine.collision;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing set of colliding collider pairs. A pair is its two bodies, the one with the lower id
+ * first, and a collider index in each; it is hashed on the object ids, so any id and collider count
+ * fits. Each entry also keeps the two collider ids so enter/exit callbacks can be dispatched without
+ * looking anything up.
+ * Every body also lists its own pairs, so dropping a body only touches those pairs.
+ * The lists live on the body, one per side, which allows for {@link #SIDES} caches at once.
+ */
+public final class PairCache {
+    /** Number of caches a body can be in at the same time, e.g. last and current tick. */
+    public static final int SIDES = 2;
+    private static final int CONTACT_STRIDE = 4;
+
+    private final int side;
+    private CollisionBody[] bodiesA, bodiesB;
+    private int[] collidersA, collidersB;
+    private String[] idsA, idsB;
+    /** Contact of each pair as {time, normalX, normalY, depth}, see {@link Narrowphase#test}. */
+    private float[] contacts;
+    private int size;
+    private int mask;
+    private long[] sortIdsA = new long[16], sortIdsB = new long[16], sortColliders = new long[16];
+
+    public PairCache(int side) {
+        this(side, 64);
+    }
+
+    public PairCache(int side, int initialCapacity) {
+        if (side < 0 || side >= SIDES) throw new IllegalArgumentException("Side must be in [0, " + SIDES + "): " + side);
+        this.side = side;
+        allocate(Integer.highestOneBit(Math.max(4, initialCapacity) - 1) << 1);
+    }
+
+    /** Puts the slots {@code slots[0..n)} in callback order, see {@link PairSort}; e.g. for exit callbacks. */
+    public void sort(int[] slots, int n) {
+        if (sortIdsA.length < n) {
+            sortIdsA = new long[Math.max(n, sortIdsA.length * 2)];
+            sortIdsB = new long[sortIdsA.length];
+            sortColliders = new long[sortIdsA.length];
+        }
+        for (int k = 0; k < n; k++) {
+            int s = slots[k];
+            sortIdsA[k] = bodiesA[s].id;
+            sortIdsB[k] = bodiesB[s].id;
+            sortColliders[k] = PairSort.colliders(collidersA[s], collidersB[s]);
+        }
+        PairSort.sort(sortIdsA, sortIdsB, sortColliders, slots, 0, n - 1);
+    }
+
+    public boolean contains(CollisionBody a, CollisionBody b, int colliderA, int colliderB) {
+        return find(a, b, colliderA, colliderB) >= 0;
+    }
+
+    /** Slot holding the pair, or -1. */
+    public int indexOf(CollisionBody a, CollisionBody b, int colliderA, int colliderB) {
+        return find(a, b, colliderA, colliderB);
+    }
+
+    /** Adds the pair and returns its slot, or -1 if it was already present. {@code a} must have the lower id. */
+    public int add(CollisionBody a, CollisionBody b, int colliderA, int colliderB, String idA, String idB) {
+        int i = insert(a, b, colliderA, colliderB, idA, idB);
+        if (i < 0) return -1;
+        link(a, b, colliderA, colliderB);
+        link(b, a, colliderA, colliderB);
+        return i;
+    }
+
+    public void setContact(int slot, float time, float normalX, float normalY, float depth) {
+        int c = slot * CONTACT_STRIDE;
+        contacts[c] = time;
+        contacts[c + 1] = normalX;
+        contacts[c + 2] = normalY;
+        contacts[c + 3] = depth;
+    }
+
+    public boolean remove(CollisionBody a, CollisionBody b, int colliderA, int colliderB) {
+        int i = find(a, b, colliderA, colliderB);
+        if (i < 0) return false;
+        unlink(a, b, colliderA, colliderB);
+        unlink(b, a, colliderA, colliderB);
+        deleteAt(i);
+        return true;
+    }
+
+    /** Removes every pair involving the given body, in time proportional to its number of pairs. */
+    public void removeAll(CollisionBody body) {
+        CollisionBody[] others = body.pairOthers[side];
+        int[] colliders = body.pairColliders[side];
+        int n = body.pairCounts[side];
+        body.pairCounts[side] = 0;
+        for (int k = 0; k < n; k++) {
+            CollisionBody other = others[k];
+            others[k] = null;
+            int colliderA = colliders[k * 2], colliderB = colliders[k * 2 + 1];
+            boolean first = body.id < other.id;
+            int i = first ? find(body, other, colliderA, colliderB) : find(other, body, colliderA, colliderB);
+            if (i < 0) continue;
+            unlink(other, body, colliderA, colliderB);
+            deleteAt(i);
+        }
+    }
+
+    public void clear() {
+        if (size == 0) return;
+        for (int i = 0; i < bodiesA.length; i++) {
+            if (bodiesA[i] == null) continue;
+            bodiesA[i].clearPairs(side);
+            bodiesB[i].clearPairs(side);
+        }
+        Arrays.fill(bodiesA, null);
+        Arrays.fill(bodiesB, null);
+        Arrays.fill(idsA, null);
+        Arrays.fill(idsB, null);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Number of slots; iterate with {@link #isUsed(int)} and the slot accessors. */
+    public int capacity() {
+        return bodiesA.length;
+    }
+
+    public boolean isUsed(int slot) {
+        return bodiesA[slot] != null;
+    }
+
+    public CollisionBody bodyA(int slot) {
+        return bodiesA[slot];
+    }
+
+    public CollisionBody bodyB(int slot) {
+        return bodiesB[slot];
+    }
+
+    public int colliderA(int slot) {
+        return collidersA[slot];
+    }
+
+    public int colliderB(int slot) {
+        return collidersB[slot];
+    }
+
+    public String colliderIdA(int slot) {
+        return idsA[slot];
+    }
+
+    public String colliderIdB(int slot) {
+        return idsB[slot];
+    }
+
+    public float time(int slot) {
+        return contacts[slot * CONTACT_STRIDE];
+    }
+
+    public float normalX(int slot) {
+        return contacts[slot * CONTACT_STRIDE + 1];
+    }
+
+    public float normalY(int slot) {
+        return contacts[slot * CONTACT_STRIDE + 2];
+    }
+
+    public float depth(int slot) {
+        return contacts[slot * CONTACT_STRIDE + 3];
+    }
+
+    /** Grows before probing so the returned slot stays valid. */
+    private int insert(CollisionBody a, CollisionBody b, int colliderA, int colliderB, String idA, String idB) {
+        if ((size + 1) * 4 > bodiesA.length * 3) grow();
+        int i = slot(a, b, colliderA, colliderB);
+        while (bodiesA[i] != null) {
+            if (matches(i, a, b, colliderA, colliderB)) return -1;
+            i = (i + 1) & mask;
+        }
+        bodiesA[i] = a;
+        bodiesB[i] = b;
+        collidersA[i] = colliderA;
+        collidersB[i] = colliderB;
+        idsA[i] = idA;
+        idsB[i] = idB;
+        size++;
+        return i;
+    }
+
+    /** Adds the pair to {@code body}'s list, where {@code other} is the body on the other side. */
+    private void link(CollisionBody body, CollisionBody other, int colliderA, int colliderB) {
+        int n = body.pairCounts[side];
+        if (n == body.pairOthers[side].length) {
+            body.pairOthers[side] = Arrays.copyOf(body.pairOthers[side], n * 2);
+            body.pairColliders[side] = Arrays.copyOf(body.pairColliders[side], n * 4);
+        }
+        body.pairOthers[side][n] = other;
+        body.pairColliders[side][n * 2] = colliderA;
+        body.pairColliders[side][n * 2 + 1] = colliderB;
+        body.pairCounts[side] = n + 1;
+    }
+
+    /** Swap-removes the pair from the body's list; lists are short, so a scan is fine. */
+    private void unlink(CollisionBody body, CollisionBody other, int colliderA, int colliderB) {
+        CollisionBody[] others = body.pairOthers[side];
+        int[] colliders = body.pairColliders[side];
+        int n = body.pairCounts[side];
+        for (int k = 0; k < n; k++) {
+            if (others[k] != other || colliders[k * 2] != colliderA || colliders[k * 2 + 1] != colliderB) continue;
+            others[k] = others[n - 1];
+            colliders[k * 2] = colliders[(n - 1) * 2];
+            colliders[k * 2 + 1] = colliders[(n - 1) * 2 + 1];
+            others[n - 1] = null;
+            body.pairCounts[side] = n - 1;
+            return;
+        }
+    }
+
+    private int find(CollisionBody a, CollisionBody b, int colliderA, int colliderB) {
+        int i = slot(a, b, colliderA, colliderB);
+        while (bodiesA[i] != null) {
+            if (matches(i, a, b, colliderA, colliderB)) return i;
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private boolean matches(int i, CollisionBody a, CollisionBody b, int colliderA, int colliderB) {
+        return bodiesA[i] == a && bodiesB[i] == b && collidersA[i] == colliderA && collidersB[i] == colliderB;
+    }
+
+    private int slot(CollisionBody a, CollisionBody b, int colliderA, int colliderB) {
+        long h = a.id * 0x9E3779B97F4A7C15L;
+        h = (h ^ b.id) * 0x9E3779B97F4A7C15L;
+        h = (h ^ ((long) colliderA << 32 | colliderB & 0xFFFFFFFFL)) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void deleteAt(int hole) {
+        clearSlot(hole);
+        size--;
+        int i = (hole + 1) & mask;
+        while (bodiesA[i] != null) {
+            int ideal = slot(bodiesA[i], bodiesB[i], collidersA[i], collidersB[i]);
+            if (((i - ideal) & mask) >= ((i - hole) & mask)) {
+                bodiesA[hole] = bodiesA[i];
+                bodiesB[hole] = bodiesB[i];
+                collidersA[hole] = collidersA[i];
+                collidersB[hole] = collidersB[i];
+                idsA[hole] = idsA[i];
+                idsB[hole] = idsB[i];
+                System.arraycopy(contacts, i * CONTACT_STRIDE, contacts, hole * CONTACT_STRIDE, CONTACT_STRIDE);
+                clearSlot(i);
+                hole = i;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    private void clearSlot(int i) {
+        bodiesA[i] = null;
+        bodiesB[i] = null;
+        idsA[i] = null;
+        idsB[i] = null;
+    }
+
+    private void allocate(int capacity) {
+        bodiesA = new CollisionBody[capacity];
+        bodiesB = new CollisionBody[capacity];
+        collidersA = new int[capacity];
+        collidersB = new int[capacity];
+        idsA = new String[capacity];
+        idsB = new String[capacity];
+        contacts = new float[capacity * CONTACT_STRIDE];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private void grow() {
+        CollisionBody[] oldA = bodiesA, oldB = bodiesB;
+        int[] oldCollidersA = collidersA, oldCollidersB = collidersB;
+        String[] oldIdsA = idsA, oldIdsB = idsB;
+        float[] oldContacts = contacts;
+        allocate(oldA.length * 2);
+        for (int i = 0; i < oldA.length; i++) {
+            if (oldA[i] == null) continue;
+            int slot = insert(oldA[i], oldB[i], oldCollidersA[i], oldCollidersB[i], oldIdsA[i], oldIdsB[i]);
+            System.arraycopy(oldContacts, i * CONTACT_STRIDE, contacts, slot * CONTACT_STRIDE, CONTACT_STRIDE);
+        }
+    }
+}
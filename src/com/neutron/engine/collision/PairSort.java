@@ -0,0 +1,72 @@
+package com.neutron.engine.collision;
+
+/**
+ * Sorts pairs into callback order: by the id of body A, then of body B, then by collider indices, so the
+ * order does not depend on the broadphase, the thread count or the hash order. Pairs are given as
+ * parallel arrays, with the collider indices packed by {@link #colliders}, and an int payload that is
+ * carried along.
+ */
+final class PairSort {
+
+    private PairSort() {}
+
+    /** Both collider indices in one long that orders like the pair of them. */
+    static long colliders(int colliderA, int colliderB) {
+        return (long) colliderA << 32 | colliderB;
+    }
+
+    /** Quicksort of the range {@code [lo, hi]}, with insertion sort for short ranges. */
+    static void sort(long[] idsA, long[] idsB, long[] colliders, int[] payload, int lo, int hi) {
+        while (hi - lo > 16) {
+            int mid = (lo + hi) >>> 1;
+            long pa = idsA[mid], pb = idsB[mid], pc = colliders[mid];
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (compare(idsA[i], idsB[i], colliders[i], pa, pb, pc) < 0) i++;
+                while (compare(idsA[j], idsB[j], colliders[j], pa, pb, pc) > 0) j--;
+                if (i <= j) {
+                    swap(idsA, idsB, colliders, payload, i, j);
+                    i++;
+                    j--;
+                }
+            }
+            // Recurse into the smaller half to bound stack depth
+            if (j - lo < hi - i) {
+                sort(idsA, idsB, colliders, payload, lo, j);
+                lo = i;
+            } else {
+                sort(idsA, idsB, colliders, payload, i, hi);
+                hi = j;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            long a = idsA[i], b = idsB[i], c = colliders[i];
+            int p = payload[i];
+            int j = i - 1;
+            while (j >= lo && compare(idsA[j], idsB[j], colliders[j], a, b, c) > 0) {
+                idsA[j + 1] = idsA[j];
+                idsB[j + 1] = idsB[j];
+                colliders[j + 1] = colliders[j];
+                payload[j + 1] = payload[j];
+                j--;
+            }
+            idsA[j + 1] = a;
+            idsB[j + 1] = b;
+            colliders[j + 1] = c;
+            payload[j + 1] = p;
+        }
+    }
+
+    private static int compare(long idA1, long idB1, long colliders1, long idA2, long idB2, long colliders2) {
+        if (idA1 != idA2) return Long.compare(idA1, idA2);
+        if (idB1 != idB2) return Long.compare(idB1, idB2);
+        return Long.compare(colliders1, colliders2);
+    }
+
+    private static void swap(long[] idsA, long[] idsB, long[] colliders, int[] payload, int i, int j) {
+        long a = idsA[i]; idsA[i] = idsA[j]; idsA[j] = a;
+        long b = idsB[i]; idsB[i] = idsB[j]; idsB[j] = b;
+        long c = colliders[i]; colliders[i] = colliders[j]; colliders[j] = c;
+        int p = payload[i]; payload[i] = payload[j]; payload[j] = p;
+    }
+}
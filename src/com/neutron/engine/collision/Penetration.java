@@ -0,0 +1,65 @@
+package com.neutron.engine.collision;
+
+/**
+ * Minimum translation for two overlapping shapes. {@code out} receives {0, normalX, normalY, depth}
+ * in the same layout as {@link Narrowphase#test}: moving the first shape by depth along the normal
+ * separates the two. Shapes that only touch within the overlap tolerance get a depth of zero or slightly below.
+ */
+public final class Penetration {
+
+    private Penetration() {
+    }
+
+    /** Rectangle vs. rectangle, pushed out along the axis of least overlap. */
+    public static void rectangles(
+            double ax, double ay, double aw, double ah,
+            double bx, double by, double bw, double bh, float[] out
+    ) {
+        double overlapX = Math.min(ax + aw, bx + bw) - Math.max(ax, bx);
+        double overlapY = Math.min(ay + ah, by + bh) - Math.max(ay, by);
+        if (overlapX < overlapY) {
+            result(out, ax + aw / 2 < bx + bw / 2 ? -1 : 1, 0, overlapX);
+        } else {
+            result(out, 0, ay + ah / 2 < by + bh / 2 ? -1 : 1, overlapY);
+        }
+    }
+
+    /** Circle vs. circle along the line between the centres. */
+    public static void circles(double x1, double y1, double r1, double x2, double y2, double r2, float[] out) {
+        double dx = x1 - x2, dy = y1 - y2;
+        double len = Math.sqrt(dx * dx + dy * dy);
+        // Concentric circles have no preferred direction, push the first one up
+        if (len < 1e-9) result(out, 0, -1, r1 + r2);
+        else result(out, dx / len, dy / len, r1 + r2 - len);
+    }
+
+    /** Circle vs. rectangle, the circle being the first shape. */
+    public static void circleRectangle(
+            double cx, double cy, double r,
+            double rx, double ry, double rw, double rh, float[] out
+    ) {
+        double closestX = Math.max(rx, Math.min(cx, rx + rw));
+        double closestY = Math.max(ry, Math.min(cy, ry + rh));
+        double dx = cx - closestX, dy = cy - closestY;
+        double dist = Math.sqrt(dx * dx + dy * dy);
+        if (dist > 1e-9) {
+            result(out, dx / dist, dy / dist, r - dist);
+            return;
+        }
+
+        // Centre inside the rectangle: leave through the nearest face
+        double left = cx - rx, right = rx + rw - cx, top = cy - ry, bottom = ry + rh - cy;
+        double nearest = Math.min(Math.min(left, right), Math.min(top, bottom));
+        if (nearest == left) result(out, -1, 0, r + left);
+        else if (nearest == right) result(out, 1, 0, r + right);
+        else if (nearest == top) result(out, 0, -1, r + top);
+        else result(out, 0, 1, r + bottom);
+    }
+
+    private static void result(float[] out, double nx, double ny, double depth) {
+        out[0] = 0f;
+        out[1] = (float) nx;
+        out[2] = (float) ny;
+        out[3] = (float) depth;
+    }
+}
@@ -0,0 +1,235 @@
+package com.neutron.engine.collision;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+/**
+ * Uniform grid broadphase. Bodies are bucketed into every cell their bounds touch and only bodies
+ * sharing a cell become candidate pairs. Bodies are re-bucketed only when their cell range changes,
+ * so a tick where most objects stay within their cells touches very little of the grid.
+ * Static bodies live in a second grid that is only ever probed from cells holding dynamic bodies,
+ * so static-static pairs cost nothing.
+ */
+public class SpatialHashBroadphase implements Broadphase {
+    /** Matches the 50px tile grid used by the example game. */
+    public static final double DEFAULT_CELL_SIZE = 50;
+
+    private final double cellSize;
+    private final LongMap<Cell> cells = new LongMap<>(256);
+    private final LongMap<Cell> staticCells = new LongMap<>(256);
+    private final ArrayDeque<Cell> freeCells = new ArrayDeque<>();
+    private final ArrayList<CollisionBody> bodies = new ArrayList<>();
+
+    public SpatialHashBroadphase() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    public SpatialHashBroadphase(double cellSize) {
+        if (cellSize <= 0) throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        this.cellSize = cellSize;
+    }
+
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    @Override
+    public void add(CollisionBody body) {
+        Proxy p = new Proxy();
+        p.index = bodies.size();
+        body.proxy = p;
+        bodies.add(body);
+    }
+
+    @Override
+    public void remove(CollisionBody body) {
+        if (!(body.proxy instanceof Proxy p)) return;
+        if (p.placed) unplace(body, p);
+
+        // Swap-remove; pair order comes from the cells, not from this list
+        CollisionBody last = bodies.remove(bodies.size() - 1);
+        if (last != body) {
+            bodies.set(p.index, last);
+            ((Proxy) last.proxy).index = p.index;
+        }
+        body.proxy = null;
+    }
+
+    @Override
+    public void clear() {
+        for (CollisionBody body : bodies) body.proxy = null;
+        bodies.clear();
+        cells.clear();
+        staticCells.clear();
+        freeCells.clear();
+    }
+
+    @Override
+    public void update() {
+        for (int i = 0; i < bodies.size(); i++) {
+            CollisionBody body = bodies.get(i);
+            Proxy p = (Proxy) body.proxy;
+
+            if (body.isEmpty()) {
+                if (p.placed) unplace(body, p);
+                continue;
+            }
+
+            int x0 = cell(body.minX), y0 = cell(body.minY);
+            int x1 = cell(body.maxX), y1 = cell(body.maxY);
+            boolean isStatic = body.isStatic();
+            if (p.placed && p.isStatic == isStatic
+                    && x0 == p.x0 && y0 == p.y0 && x1 == p.x1 && y1 == p.y1) continue;
+
+            if (p.placed) unplace(body, p);
+            p.x0 = x0;
+            p.y0 = y0;
+            p.x1 = x1;
+            p.y1 = y1;
+            p.isStatic = isStatic;
+            place(body, p);
+        }
+    }
+
+    @Override
+    public void findPairs(PairCallback callback) {
+        for (int s = 0; s < cells.capacity(); s++) {
+            Cell cell = cells.valueAt(s);
+            if (cell == null) continue;
+
+            ArrayList<CollisionBody> list = cell.bodies;
+            for (int i = 0; i < list.size(); i++) {
+                CollisionBody a = list.get(i);
+                Proxy pa = (Proxy) a.proxy;
+                for (int j = i + 1; j < list.size(); j++) {
+                    CollisionBody b = list.get(j);
+                    Proxy pb = (Proxy) b.proxy;
+
+                    // Only report the pair from the first cell both bodies share
+                    if (cell.x != Math.max(pa.x0, pb.x0) || cell.y != Math.max(pa.y0, pb.y0)) continue;
+                    if (!a.canCollide(b) || !a.overlaps(b)) continue;
+
+                    if (a.id <= b.id) callback.onPair(a, b);
+                    else callback.onPair(b, a);
+                }
+            }
+
+            Cell statics = staticCells.get(key(cell.x, cell.y));
+            if (statics == null) continue;
+            for (int i = 0; i < list.size(); i++) {
+                CollisionBody a = list.get(i);
+                Proxy pa = (Proxy) a.proxy;
+                for (int j = 0; j < statics.bodies.size(); j++) {
+                    CollisionBody b = statics.bodies.get(j);
+                    Proxy pb = (Proxy) b.proxy;
+
+                    if (cell.x != Math.max(pa.x0, pb.x0) || cell.y != Math.max(pa.y0, pb.y0)) continue;
+                    if (!a.canCollide(b) || !a.overlaps(b)) continue;
+
+                    if (a.id <= b.id) callback.onPair(a, b);
+                    else callback.onPair(b, a);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void query(double minX, double minY, double maxX, double maxY, BodyCallback callback) {
+        int x0 = cell(minX), y0 = cell(minY);
+        int x1 = cell(maxX), y1 = cell(maxY);
+
+        // Large boxes cover mostly empty cells, walk the occupied ones instead
+        long range = (long) (x1 - x0 + 1) * (y1 - y0 + 1);
+        if (range > cells.size() + staticCells.size()) {
+            queryOccupied(cells, x0, y0, x1, y1, minX, minY, maxX, maxY, callback);
+            queryOccupied(staticCells, x0, y0, x1, y1, minX, minY, maxX, maxY, callback);
+            return;
+        }
+
+        for (int x = x0; x <= x1; x++) {
+            for (int y = y0; y <= y1; y++) {
+                long key = key(x, y);
+                Cell cell = cells.get(key);
+                if (cell != null) queryCell(cell, x0, y0, minX, minY, maxX, maxY, callback);
+                cell = staticCells.get(key);
+                if (cell != null) queryCell(cell, x0, y0, minX, minY, maxX, maxY, callback);
+            }
+        }
+    }
+
+    private static void queryOccupied(LongMap<Cell> cells, int x0, int y0, int x1, int y1,
+                                      double minX, double minY, double maxX, double maxY, BodyCallback callback) {
+        for (int s = 0; s < cells.capacity(); s++) {
+            Cell cell = cells.valueAt(s);
+            if (cell == null || cell.x < x0 || cell.x > x1 || cell.y < y0 || cell.y > y1) continue;
+            queryCell(cell, x0, y0, minX, minY, maxX, maxY, callback);
+        }
+    }
+
+    private static void queryCell(Cell cell, int x0, int y0,
+                                  double minX, double minY, double maxX, double maxY, BodyCallback callback) {
+        for (int i = 0; i < cell.bodies.size(); i++) {
+            CollisionBody body = cell.bodies.get(i);
+            Proxy p = (Proxy) body.proxy;
+
+            // Only report the body from the first cell it shares with the query
+            if (cell.x != Math.max(x0, p.x0) || cell.y != Math.max(y0, p.y0)) continue;
+            if (body.overlaps(minX, minY, maxX, maxY)) callback.onBody(body);
+        }
+    }
+
+    private void place(CollisionBody body, Proxy p) {
+        LongMap<Cell> cells = p.isStatic ? staticCells : this.cells;
+        for (int x = p.x0; x <= p.x1; x++) {
+            for (int y = p.y0; y <= p.y1; y++) {
+                long key = key(x, y);
+                Cell cell = cells.get(key);
+                if (cell == null) {
+                    cell = freeCells.isEmpty() ? new Cell() : freeCells.pop();
+                    cell.x = x;
+                    cell.y = y;
+                    cells.put(key, cell);
+                }
+                cell.bodies.add(body);
+            }
+        }
+        p.placed = true;
+    }
+
+    private void unplace(CollisionBody body, Proxy p) {
+        LongMap<Cell> cells = p.isStatic ? staticCells : this.cells;
+        for (int x = p.x0; x <= p.x1; x++) {
+            for (int y = p.y0; y <= p.y1; y++) {
+                long key = key(x, y);
+                Cell cell = cells.get(key);
+                if (cell == null) continue;
+                cell.bodies.remove(body);
+                if (cell.bodies.isEmpty()) {
+                    cells.remove(key);
+                    freeCells.push(cell);
+                }
+            }
+        }
+        p.placed = false;
+    }
+
+    private int cell(double v) {
+        return (int) Math.floor(v / cellSize);
+    }
+
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    private static final class Proxy {
+        int index;
+        int x0, y0, x1, y1;
+        boolean placed;
+        boolean isStatic;
+    }
+
+    private static final class Cell {
+        int x, y;
+        final ArrayList<CollisionBody> bodies = new ArrayList<>(4);
+    }
+}
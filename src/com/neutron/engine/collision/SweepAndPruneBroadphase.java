@@ -0,0 +1,246 @@
+package com.neutron.engine.collision;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Sort-and-sweep broadphase along the X axis. The min/max endpoints of every body are kept in one
+ * array that stays sorted between ticks and is repaired with insertion sort, which is close to linear
+ * when the X ordering barely changes, e.g. terrain that all scrolls at the same speed.
+ * Static and dynamic bodies are tracked in separate active lists during the sweep, so a static body
+ * is only ever tested against dynamic ones.
+ */
+public class SweepAndPruneBroadphase implements Broadphase {
+    private static final int MAX_FLAG = 1;
+
+    private final ArrayList<CollisionBody> slots = new ArrayList<>();
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    /** Slots of removed bodies; only reusable once their endpoints are compacted away. */
+    private int[] pendingSlots = new int[16];
+    private int pendingCount;
+
+    /** Sorted endpoints, encoded as slot << 1 | isMax. */
+    private int[] endpoints = new int[32];
+    private double[] values = new double[32];
+    private int endpointCount;
+    private boolean hasRemoved;
+
+    /** Bodies whose min endpoint has been passed but not their max; activePos maps slot to index. */
+    private int[] active = new int[16];
+    private int activeCount;
+    private int[] activeStatic = new int[16];
+    private int activeStaticCount;
+    private int[] activePos = new int[16];
+
+    @Override
+    public void add(CollisionBody body) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+            slots.set(slot, body);
+        } else {
+            slot = slots.size();
+            slots.add(body);
+        }
+        body.proxy = new Proxy(slot);
+
+        // Appended unsorted; the next update() moves them into place
+        ensureEndpointCapacity(endpointCount + 2);
+        endpoints[endpointCount] = slot << 1;
+        values[endpointCount++] = Double.POSITIVE_INFINITY;
+        endpoints[endpointCount] = (slot << 1) | MAX_FLAG;
+        values[endpointCount++] = Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public void remove(CollisionBody body) {
+        if (!(body.proxy instanceof Proxy p)) return;
+        slots.set(p.slot, null);
+        if (pendingCount == pendingSlots.length) pendingSlots = Arrays.copyOf(pendingSlots, pendingCount * 2);
+        pendingSlots[pendingCount++] = p.slot;
+        body.proxy = null;
+        hasRemoved = true;
+    }
+
+    @Override
+    public void clear() {
+        for (CollisionBody body : slots) {
+            if (body != null) body.proxy = null;
+        }
+        slots.clear();
+        freeCount = 0;
+        pendingCount = 0;
+        endpointCount = 0;
+        activeCount = 0;
+        activeStaticCount = 0;
+        hasRemoved = false;
+    }
+
+    @Override
+    public void update() {
+        if (hasRemoved) compact();
+
+        for (int i = 0; i < endpointCount; i++) {
+            int e = endpoints[i];
+            CollisionBody body = slots.get(e >>> 1);
+            if (body.isEmpty()) values[i] = Double.POSITIVE_INFINITY;
+            else values[i] = (e & MAX_FLAG) == 0 ? body.minX : body.maxX;
+        }
+
+        // Insertion sort: near-linear because last tick's order is almost right
+        for (int i = 1; i < endpointCount; i++) {
+            int e = endpoints[i];
+            double v = values[i];
+            int j = i - 1;
+            while (j >= 0 && before(v, e, values[j], endpoints[j])) {
+                endpoints[j + 1] = endpoints[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            endpoints[j + 1] = e;
+            values[j + 1] = v;
+        }
+    }
+
+    @Override
+    public void findPairs(PairCallback callback) {
+        if (activePos.length < slots.size()) activePos = new int[slots.size() * 2];
+        Arrays.fill(activePos, 0, slots.size(), -1);
+        activeCount = 0;
+        activeStaticCount = 0;
+
+        for (int i = 0; i < endpointCount; i++) {
+            int e = endpoints[i];
+            int slot = e >>> 1;
+            CollisionBody body = slots.get(slot);
+            boolean isStatic = body.isStatic();
+
+            if ((e & MAX_FLAG) != 0) {
+                int pos = activePos[slot];
+                if (pos < 0) continue;
+                if (isStatic) {
+                    int last = activeStatic[--activeStaticCount];
+                    activeStatic[pos] = last;
+                    activePos[last] = pos;
+                } else {
+                    int last = active[--activeCount];
+                    active[pos] = last;
+                    activePos[last] = pos;
+                }
+                activePos[slot] = -1;
+                continue;
+            }
+
+            if (body.isEmpty()) continue;
+            sweep(body, active, activeCount, callback);
+            if (isStatic) {
+                if (activeStaticCount == activeStatic.length) {
+                    activeStatic = Arrays.copyOf(activeStatic, activeStaticCount * 2);
+                }
+                activePos[slot] = activeStaticCount;
+                activeStatic[activeStaticCount++] = slot;
+            } else {
+                sweep(body, activeStatic, activeStaticCount, callback);
+                if (activeCount == active.length) active = Arrays.copyOf(active, activeCount * 2);
+                activePos[slot] = activeCount;
+                active[activeCount++] = slot;
+            }
+        }
+    }
+
+    /**
+     * Either walks the min endpoints left of maxX or the max endpoints right of minX, whichever run
+     * is shorter; every overlapping body has one endpoint in each.
+     */
+    @Override
+    public void query(double minX, double minY, double maxX, double maxY, BodyCallback callback) {
+        int upper = firstAbove(maxX);
+        int lower = firstAtLeast(minX);
+        boolean fromLeft = upper <= endpointCount - lower;
+        int from = fromLeft ? 0 : lower;
+        int to = fromLeft ? upper : endpointCount;
+        int side = fromLeft ? 0 : MAX_FLAG;
+
+        for (int i = from; i < to; i++) {
+            int e = endpoints[i];
+            if ((e & MAX_FLAG) != side) continue;
+            CollisionBody body = slots.get(e >>> 1);
+            if (body == null || body.isEmpty() || !body.overlaps(minX, minY, maxX, maxY)) continue;
+            callback.onBody(body);
+        }
+    }
+
+    /** Index of the first endpoint with a value greater than v. */
+    private int firstAbove(double v) {
+        int lo = 0, hi = endpointCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] <= v) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** Index of the first endpoint with a value of at least v. */
+    private int firstAtLeast(double v) {
+        int lo = 0, hi = endpointCount;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (values[mid] < v) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private void sweep(CollisionBody body, int[] list, int count, PairCallback callback) {
+        for (int k = 0; k < count; k++) {
+            CollisionBody other = slots.get(list[k]);
+            if (body.minY > other.maxY || body.maxY < other.minY || !body.canCollide(other)) continue;
+
+            if (other.id <= body.id) callback.onPair(other, body);
+            else callback.onPair(body, other);
+        }
+    }
+
+    /** Orders by value, with min endpoints before max endpoints so touching bounds still overlap. */
+    private static boolean before(double v, int e, double otherV, int otherE) {
+        if (v != otherV) return v < otherV;
+        return (e & MAX_FLAG) < (otherE & MAX_FLAG);
+    }
+
+    /** Drops endpoints of removed bodies in one pass, keeping the sorted order. */
+    private void compact() {
+        int n = 0;
+        for (int i = 0; i < endpointCount; i++) {
+            int e = endpoints[i];
+            if (slots.get(e >>> 1) == null) continue;
+            endpoints[n] = e;
+            values[n++] = values[i];
+        }
+        endpointCount = n;
+
+        if (freeCount + pendingCount > freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount + pendingCount);
+        }
+        System.arraycopy(pendingSlots, 0, freeSlots, freeCount, pendingCount);
+        freeCount += pendingCount;
+        pendingCount = 0;
+        hasRemoved = false;
+    }
+
+    private void ensureEndpointCapacity(int capacity) {
+        if (capacity <= endpoints.length) return;
+        int size = Math.max(capacity, endpoints.length * 2);
+        endpoints = Arrays.copyOf(endpoints, size);
+        values = Arrays.copyOf(values, size);
+    }
+
+    private static final class Proxy {
+        final int slot;
+
+        Proxy(int slot) {
+            this.slot = slot;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.neutron.engine.collision;
+
+import com.neutron.engine.func.Collider;
+
+/**
+ * Swept tests for one tick of relative motion. Each sweep moves the first shape by (dx, dy) against
+ * the second shape at rest and returns the time of first contact in [0, 1], or -1 on a miss.
+ * On a hit, {@code out} receives {time, normalX, normalY}, with the normal pointing from the second
+ * shape towards the first. Shapes are expected to not overlap at time 0; callers check that first.
+ */
+public final class TimeOfImpact {
+    public static final float MISS = -1f;
+
+    private TimeOfImpact() {
+    }
+
+    /** Rectangle vs. rectangle (swept‐AABB). */
+    public static float rectangles(
+            double mx, double my, double mw, double mh, float dx, float dy,
+            double tx, double ty, double tw, double th, float[] out
+    ) {
+        // Cheap reject against the box covering the whole move
+        float minX = (float) Math.min(mx, mx + dx);
+        float minY = (float) Math.min(my, my + dy);
+        float  w   = (float) (mw + Math.abs(dx));
+        float  h   = (float) (mh + Math.abs(dy));
+        if (!Collider.rectanglesIntersect(minX, minY, w, h, tx, ty, tw, th)) return MISS;
+
+        float xEntry, yEntry, xExit, yExit;
+
+        // Handle zero velocity cases to avoid division by zero
+        if (Math.abs(dx) < 1e-6f) {
+            // No X movement - check if already overlapping on X axis
+            if (mx + mw <= tx || mx >= tx + tw) {
+                return MISS; // No X overlap, can never collide
+            }
+            xEntry = Float.NEGATIVE_INFINITY;
+            xExit = Float.POSITIVE_INFINITY;
+        } else if (dx > 0) {
+            xEntry = (float) ((tx - (mx + mw)) / dx);
+            xExit  = (float) (((tx + tw) - mx) / dx);
+        } else {
+            xEntry = (float) (((tx + tw) - mx) / dx);
+            xExit  = (float) ((tx - (mx + mw)) / dx);
+        }
+
+        if (Math.abs(dy) < 1e-6f) {
+            // No Y movement - check if already overlapping on Y axis
+            if (my + mh <= ty || my >= ty + th) {
+                return MISS; // No Y overlap, can never collide
+            }
+            yEntry = Float.NEGATIVE_INFINITY;
+            yExit = Float.POSITIVE_INFINITY;
+        } else if (dy > 0) {
+            yEntry = (float) ((ty - (my + mh)) / dy);
+            yExit  = (float) (((ty + th) - my) / dy);
+        } else {
+            yEntry = (float) (((ty + th) - my) / dy);
+            yExit  = (float) ((ty - (my + mh)) / dy);
+        }
+
+        float entryTime = Math.max(xEntry, yEntry);
+        float exitTime  = Math.min(xExit,  yExit);
+        if (!(entryTime <= exitTime && entryTime >= 0f && entryTime <= 1f)) return MISS;
+
+        // The face hit is on the axis that entered last
+        if (xEntry > yEntry) return result(out, entryTime, dx > 0 ? -1 : 1, 0);
+        return result(out, entryTime, 0, dy > 0 ? -1 : 1);
+    }
+
+    /** Circle vs. circle: first root of |p + t·d| = r1 + r2. */
+    public static float circles(
+            double x1, double y1, double r1, float dx, float dy,
+            double x2, double y2, double r2, float[] out
+    ) {
+        double px = x1 - x2, py = y1 - y2;
+        double rsum = r1 + r2;
+        double a = (double) dx * dx + (double) dy * dy;
+        if (a < 1e-12) return MISS;
+        double b = 2 * (px * dx + py * dy);
+        double c = px * px + py * py - rsum * rsum;
+        double disc = b * b - 4 * a * c;
+        if (disc < 0) return MISS;
+
+        double t = (-b - Math.sqrt(disc)) / (2 * a);
+        if (t < 0 || t > 1) return MISS;
+
+        double nx = px + t * dx, ny = py + t * dy;
+        double len = Math.sqrt(nx * nx + ny * ny);
+        if (len < 1e-12) return result(out, (float) t, 0, 0);
+        return result(out, (float) t, (float) (nx / len), (float) (ny / len));
+    }
+
+    /**
+     * Moving circle vs. rectangle. The Minkowski sum of the two is the rectangle grown by the radius
+     * with rounded corners, i.e. two grown rectangles plus four corner circles, so the centre is
+     * swept as a point against each of those and the earliest hit wins.
+     */
+    public static float circleRectangle(
+            double cx, double cy, double r, float dx, float dy,
+            double rx, double ry, double rw, double rh, float[] out
+    ) {
+        float best = MISS;
+        float bestNx = 0, bestNy = 0;
+
+        // Grown horizontally (side faces) and vertically (top/bottom faces)
+        float t = pointRectangle(cx, cy, dx, dy, rx - r, ry, rx + rw + r, ry + rh, out);
+        if (t != MISS) {
+            best = t;
+            bestNx = out[1];
+            bestNy = out[2];
+        }
+        t = pointRectangle(cx, cy, dx, dy, rx, ry - r, rx + rw, ry + rh + r, out);
+        if (t != MISS && (best == MISS || t < best)) {
+            best = t;
+            bestNx = out[1];
+            bestNy = out[2];
+        }
+
+        // Rounded corners
+        for (int corner = 0; corner < 4; corner++) {
+            double kx = (corner & 1) == 0 ? rx : rx + rw;
+            double ky = (corner & 2) == 0 ? ry : ry + rh;
+            t = circles(cx, cy, r, dx, dy, kx, ky, 0, out);
+            if (t != MISS && (best == MISS || t < best)) {
+                best = t;
+                bestNx = out[1];
+                bestNy = out[2];
+            }
+        }
+
+        if (best == MISS) return MISS;
+        return result(out, best, bestNx, bestNy);
+    }
+
+    /** Moving point vs. box given by its min/max corners (slab test). */
+    private static float pointRectangle(
+            double px, double py, float dx, float dy,
+            double minX, double minY, double maxX, double maxY, float[] out
+    ) {
+        double tEnter = Double.NEGATIVE_INFINITY, tExit = Double.POSITIVE_INFINITY;
+        float nx = 0, ny = 0;
+
+        if (Math.abs(dx) < 1e-6f) {
+            if (px < minX || px > maxX) return MISS;
+        } else {
+            double t1 = (minX - px) / dx, t2 = (maxX - px) / dx;
+            double near = Math.min(t1, t2), far = Math.max(t1, t2);
+            if (near > tEnter) {
+                tEnter = near;
+                nx = dx > 0 ? -1 : 1;
+                ny = 0;
+            }
+            tExit = Math.min(tExit, far);
+        }
+
+        if (Math.abs(dy) < 1e-6f) {
+            if (py < minY || py > maxY) return MISS;
+        } else {
+            double t1 = (minY - py) / dy, t2 = (maxY - py) / dy;
+            double near = Math.min(t1, t2), far = Math.max(t1, t2);
+            if (near > tEnter) {
+                tEnter = near;
+                nx = 0;
+                ny = dy > 0 ? -1 : 1;
+            }
+            tExit = Math.min(tExit, far);
+        }
+
+        if (tEnter > tExit || tEnter < 0 || tEnter > 1) return MISS;
+        return result(out, (float) tEnter, nx, ny);
+    }
+
+    private static float result(float[] out, float time, float nx, float ny) {
+        out[0] = time;
+        out[1] = nx;
+        out[2] = ny;
+        return time;
+    }
+}
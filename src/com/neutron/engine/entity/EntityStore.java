@@ -0,0 +1,229 @@
+package com.neutron.engine.entity;
+
+import java.util.Arrays;
+
+/**
+ * Structure-of-arrays storage for large numbers of simple entities. Positions, velocities, bounds
+ * and z-depth live in parallel primitive arrays that are kept dense, so systems like
+ * {@link #update} and {@link #cull} walk memory linearly instead of chasing GameObject references.
+ * <p>
+ * Entities are addressed by an int handle that stays valid until {@link #destroy}; handles are reused
+ * after that. Removal swaps the last entity into the hole, so dense indices change and the column
+ * arrays returned by {@link #xs()} etc. are only valid until the next create or destroy.
+ * Register a store with {@link com.neutron.engine.ObjectHandler#addEntityStore} to have it updated
+ * every tick, and use {@link EntityView} where an entity also needs to be a GameObject.
+ */
+public final class EntityStore {
+    private float[] x, y, vx, vy, width, height;
+    private int[] z;
+    private int[] entityAt;
+    private int count;
+
+    private int[] indexOf;
+    private int[] freeHandles;
+    private int freeCount;
+    private int handleCount;
+
+    public EntityStore() {
+        this(1024);
+    }
+
+    public EntityStore(int initialCapacity) {
+        if (initialCapacity < 1) throw new IllegalArgumentException("Capacity must be positive: " + initialCapacity);
+        x = new float[initialCapacity];
+        y = new float[initialCapacity];
+        vx = new float[initialCapacity];
+        vy = new float[initialCapacity];
+        width = new float[initialCapacity];
+        height = new float[initialCapacity];
+        z = new int[initialCapacity];
+        entityAt = new int[initialCapacity];
+        indexOf = new int[initialCapacity];
+        freeHandles = new int[16];
+    }
+
+    /** Adds an entity at rest with the given bounds and returns its handle. */
+    public int create(float x, float y, float width, float height) {
+        if (count == this.x.length) grow(count * 2);
+
+        int entity;
+        if (freeCount > 0) {
+            entity = freeHandles[--freeCount];
+        } else {
+            if (handleCount == indexOf.length) indexOf = Arrays.copyOf(indexOf, handleCount * 2);
+            entity = handleCount++;
+        }
+
+        int i = count++;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.vx[i] = 0;
+        this.vy[i] = 0;
+        this.width[i] = width;
+        this.height[i] = height;
+        this.z[i] = 0;
+        entityAt[i] = entity;
+        indexOf[entity] = i;
+        return entity;
+    }
+
+    public void destroy(int entity) {
+        int i = index(entity);
+        int last = --count;
+        if (i != last) {
+            x[i] = x[last];
+            y[i] = y[last];
+            vx[i] = vx[last];
+            vy[i] = vy[last];
+            width[i] = width[last];
+            height[i] = height[last];
+            z[i] = z[last];
+            entityAt[i] = entityAt[last];
+            indexOf[entityAt[i]] = i;
+        }
+        indexOf[entity] = -1;
+        if (freeCount == freeHandles.length) freeHandles = Arrays.copyOf(freeHandles, freeCount * 2);
+        freeHandles[freeCount++] = entity;
+    }
+
+    public boolean isAlive(int entity) {
+        return entity >= 0 && entity < handleCount && indexOf[entity] >= 0;
+    }
+
+    public void clear() {
+        Arrays.fill(indexOf, 0, handleCount, -1);
+        freeCount = 0;
+        handleCount = 0;
+        count = 0;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /** Dense index of a live entity, for use with the column arrays. */
+    public int index(int entity) {
+        if (!isAlive(entity)) throw new IllegalArgumentException("No such entity: " + entity);
+        return indexOf[entity];
+    }
+
+    /** Handle of the entity at a dense index. */
+    public int entityAt(int index) {
+        return entityAt[index];
+    }
+
+    public float getX(int entity) {
+        return x[index(entity)];
+    }
+
+    public float getY(int entity) {
+        return y[index(entity)];
+    }
+
+    public float getVx(int entity) {
+        return vx[index(entity)];
+    }
+
+    public float getVy(int entity) {
+        return vy[index(entity)];
+    }
+
+    public float getWidth(int entity) {
+        return width[index(entity)];
+    }
+
+    public float getHeight(int entity) {
+        return height[index(entity)];
+    }
+
+    public int getZ(int entity) {
+        return z[index(entity)];
+    }
+
+    public void setPosition(int entity, float x, float y) {
+        int i = index(entity);
+        this.x[i] = x;
+        this.y[i] = y;
+    }
+
+    public void setVelocity(int entity, float vx, float vy) {
+        int i = index(entity);
+        this.vx[i] = vx;
+        this.vy[i] = vy;
+    }
+
+    public void setSize(int entity, float width, float height) {
+        int i = index(entity);
+        this.width[i] = width;
+        this.height[i] = height;
+    }
+
+    public void setZ(int entity, int z) {
+        this.z[index(entity)] = z;
+    }
+
+    // Columns for systems; entries [0, size()) are live, valid until the next create or destroy
+
+    public float[] xs() {
+        return x;
+    }
+
+    public float[] ys() {
+        return y;
+    }
+
+    public float[] vxs() {
+        return vx;
+    }
+
+    public float[] vys() {
+        return vy;
+    }
+
+    public float[] widths() {
+        return width;
+    }
+
+    public float[] heights() {
+        return height;
+    }
+
+    public int[] zs() {
+        return z;
+    }
+
+    /** Moves every entity by its velocity. */
+    public void update(float delta) {
+        float[] x = this.x, y = this.y, vx = this.vx, vy = this.vy;
+        for (int i = 0; i < count; i++) {
+            x[i] += vx[i] * delta;
+            y[i] += vy[i] * delta;
+        }
+    }
+
+    /**
+     * Writes the handles of entities whose bounds overlap the given area into {@code out}, up to its
+     * length, and returns how many overlap in total.
+     */
+    public int cull(float minX, float minY, float maxX, float maxY, int[] out) {
+        float[] x = this.x, y = this.y, width = this.width, height = this.height;
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            if (x[i] > maxX || y[i] > maxY || x[i] + width[i] < minX || y[i] + height[i] < minY) continue;
+            if (n < out.length) out[n] = entityAt[i];
+            n++;
+        }
+        return n;
+    }
+
+    private void grow(int capacity) {
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        vx = Arrays.copyOf(vx, capacity);
+        vy = Arrays.copyOf(vy, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        z = Arrays.copyOf(z, capacity);
+        entityAt = Arrays.copyOf(entityAt, capacity);
+    }
+}
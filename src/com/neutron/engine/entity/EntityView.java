@@ -0,0 +1,70 @@
+package com.neutron.engine.entity;
+
+import com.neutron.engine.base.GameObject;
+import com.neutron.engine.base.interfaces.Movable;
+import com.neutron.engine.base.interfaces.Transform;
+
+/**
+ * A GameObject whose position and velocity live in an {@link EntityStore}. The getters read straight
+ * from the store, so the object itself holds no state and the store's systems move it;
+ * it can still implement ObjectRenderer, Collidable etc. like any other GameObject.
+ * The entity is destroyed when ObjectHandler removes the object, after {@link #delete()}.
+ */
+public abstract class EntityView extends GameObject implements Transform, Movable {
+    protected final EntityStore store;
+    protected final int entity;
+
+    protected EntityView(EntityStore store, float x, float y, float width, float height) {
+        super();
+        this.store = store;
+        this.entity = store.create(x, y, width, height);
+    }
+
+    public EntityStore getStore() {
+        return store;
+    }
+
+    public int getEntity() {
+        return entity;
+    }
+
+    @Override
+    public Integer getX() {
+        return x();
+    }
+
+    @Override
+    public Integer getY() {
+        return y();
+    }
+
+    @Override
+    public Float getVx() {
+        return vx();
+    }
+
+    @Override
+    public Float getVy() {
+        return vy();
+    }
+
+    @Override
+    public int x() {
+        return (int) store.getX(entity);
+    }
+
+    @Override
+    public int y() {
+        return (int) store.getY(entity);
+    }
+
+    @Override
+    public float vx() {
+        return store.getVx(entity);
+    }
+
+    @Override
+    public float vy() {
+        return store.getVy(entity);
+    }
+}
@@ -0,0 +1,16 @@
+package com.neutron.engine.func;
+
+/**
+ * What the game loop does with the ticks it still owes after running the most it may in one frame
+ * (see {@link com.neutron.engine.GameCore#setMaxCatchUpTicks}). Either way the frame is drawn, so a slow
+ * update cannot starve rendering, and the game slows down instead of falling further and further behind.
+ */
+public enum CatchUpPolicy {
+    /** Forget the owed ticks: game time skips them. Recovers as soon as updates are fast again. */
+    DROP,
+    /**
+     * Keep up to the per-frame maximum of owed ticks for the following frames and drop only the rest,
+     * so a short hitch is made up in full while a sustained overload stays bounded.
+     */
+    CARRY
+}
@@ -5,6 +5,8 @@ import com.neutron.engine.base.interfaces.Transform;
 
 public abstract class Collider {
     private final String id;
+    private boolean overridesLayers;
+    private int layer, mask;
 
     public String getId() {
         return id;
@@ -14,6 +16,29 @@ public abstract class Collider {
         this.id = id;
     }
 
+    /**
+     * Gives this collider its own collision layer and mask instead of the owning Collidable's,
+     * e.g. a "death" hitbox that only the player should hit.
+     */
+    public Collider withLayers(int layer, int mask) {
+        this.overridesLayers = true;
+        this.layer = layer;
+        this.mask = mask;
+        return this;
+    }
+
+    public boolean overridesLayers() {
+        return overridesLayers;
+    }
+
+    public int getLayer() {
+        return layer;
+    }
+
+    public int getMask() {
+        return mask;
+    }
+
 
     public abstract boolean intersects(Collider other);
 
@@ -22,19 +47,42 @@ public abstract class Collider {
 
     /** AABB vs. AABB test with small tolerance for edge cases. */
     public static boolean checkRectangleIntersection(RectangleCollider r1, RectangleCollider r2) {
-        return r1.x < r2.x + r2.width + EPSILON &&
-                r1.x + r1.width + EPSILON > r2.x &&
-                r1.y < r2.y + r2.height + EPSILON &&
-                r1.y + r1.height + EPSILON > r2.y;
+        return rectanglesIntersect(r1.x, r1.y, r1.width, r1.height, r2.x, r2.y, r2.width, r2.height);
+    }
+
+    /** Primitive form of {@link #checkRectangleIntersection}, for callers that keep their own buffers. */
+    public static boolean rectanglesIntersect(double x1, double y1, double w1, double h1,
+                                              double x2, double y2, double w2, double h2) {
+        return x1 < x2 + w2 + EPSILON &&
+                x1 + w1 + EPSILON > x2 &&
+                y1 < y2 + h2 + EPSILON &&
+                y1 + h1 + EPSILON > y2;
+    }
+
+    /** Circle vs. AABB test using the closest point on the rectangle. */
+    public static boolean circleRectangleIntersect(double cx, double cy, double radius,
+                                                   double rx, double ry, double rw, double rh) {
+        double closestX = clamp(cx, rx, rx + rw);
+        double closestY = clamp(cy, ry, ry + rh);
+        double dx = cx - closestX;
+        double dy = cy - closestY;
+        return dx*dx + dy*dy <= radius * radius;
+    }
+
+    public static boolean circlesIntersect(double x1, double y1, double r1, double x2, double y2, double r2) {
+        double dx = x1 - x2;
+        double dy = y1 - y2;
+        double rsum = r1 + r2;
+        return dx*dx + dy*dy <= rsum * rsum;
     }
 
     /**
      * Transforms a local-space collider into world-space using the given Transform.
      */
     public Collider globalize(Transform t) {
-        double scale = t.getScale();
-        int xOff = t.getX();
-        int yOff = t.getY();
+        double scale = t.scale();
+        int xOff = t.x();
+        int yOff = t.y();
 
         if (this instanceof RectangleCollider r) {
             return new RectangleCollider(
@@ -75,11 +123,7 @@ public abstract class Collider {
                 return checkRectangleIntersection(this, r);
             } else if (other instanceof CircleCollider c) {
                 // circle-rectangle SAT
-                double closestX = clamp(c.x, this.x, this.x + this.width);
-                double closestY = clamp(c.y, this.y, this.y + this.height);
-                double dx = c.x - closestX;
-                double dy = c.y - closestY;
-                return dx*dx + dy*dy <= c.radius * c.radius;
+                return circleRectangleIntersect(c.x, c.y, c.radius, this.x, this.y, this.width, this.height);
             }
             return false;
         }
@@ -101,10 +145,7 @@ public abstract class Collider {
         @Override
         public boolean intersects(Collider other) {
             if (other instanceof CircleCollider c) {
-                double dx = this.x - c.x;
-                double dy = this.y - c.y;
-                double rsum = this.radius + c.radius;
-                return dx*dx + dy*dy <= rsum * rsum;
+                return circlesIntersect(this.x, this.y, this.radius, c.x, c.y, c.radius);
             } else if (other instanceof RectangleCollider r) {
                 // defer to rect's logic
                 return r.intersects(this);
@@ -1,16 +1,19 @@
 package com.neutron.engine.func;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 public class UniqueId {
-    private static long nextGameObjectId = 0;
-    private static long nextResourceId = 0;
+    // Atomic so objects and resources can be created on any thread without locking
+    private static final AtomicLong nextGameObjectId = new AtomicLong();
+    private static final AtomicLong nextResourceId = new AtomicLong();
 
     public final static long UNASSIGNED = -1;
 
-    public static synchronized long generateGameObjectId() {
-        return nextGameObjectId++;
+    public static long generateGameObjectId() {
+        return nextGameObjectId.getAndIncrement();
     }
 
-    public static synchronized long generateResourceId() {
-        return nextResourceId++;
+    public static long generateResourceId() {
+        return nextResourceId.getAndIncrement();
     }
 }
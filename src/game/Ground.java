@@ -11,6 +11,9 @@ import java.util.List;
 
 public class Ground extends GameObject implements Collidable, ObjectRenderer {
 
+    private static final List<Collider> COLLIDERS =
+            List.of(new Collider.RectangleCollider(0, 0, 1000, 50, "ground"));
+
     @Override
     public void play(GameCore gameCore) {
 
@@ -31,7 +34,22 @@ public class Ground extends GameObject implements Collidable, ObjectRenderer {
 
 
     public java.util.List<Collider> getColliders() {
-        return List.of(new Collider.RectangleCollider(0, 0, 1000, 50, "ground"));
+        return COLLIDERS;
+    }
+
+    @Override
+    public int getCollisionLayer() {
+        return Layers.TERRAIN;
+    }
+
+    @Override
+    public int getCollisionMask() {
+        return Layers.PLAYER;
+    }
+
+    @Override
+    public boolean isStatic() {
+        return true;
     }
 
     @Override
@@ -51,6 +69,11 @@ public class Ground extends GameObject implements Collidable, ObjectRenderer {
 
     @Override
     public Integer getY() {
+        return y();
+    }
+
+    @Override
+    public int y() {
         return 550;
     }
 
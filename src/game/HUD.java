@@ -43,10 +43,10 @@ public class HUD extends GameObject implements UIGroup, ObjectRenderer {
             @Override
             protected void renderSelf(GameCore gameCore, Renderer r) {
                 // Draw text shadow
-                r.drawText("Score: " + ((Player) ObjectHandler.get(Player.class).getFirst()).getScore(), x + 2, y + 22, r.color(0,0,0,100));
+                r.drawText("Score: " + ObjectHandler.first(Player.class).getScore(), x + 2, y + 22, r.color(0,0,0,100));
                 r.drawText("FPS: " + gameCore.getFPS(), x + 2, y + 42, r.color(0,0,0,100));
                 // Draw text
-                r.drawText("Score: " + ((Player) ObjectHandler.get(Player.class).getFirst()).getScore(), x, y + 20, Color.WHITE);
+                r.drawText("Score: " + ObjectHandler.first(Player.class).getScore(), x, y + 20, Color.WHITE);
                 r.drawText("FPS: " + gameCore.getFPS(), x, y + 40, Color.WHITE);
             }
 
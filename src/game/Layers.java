@@ -0,0 +1,12 @@
+package game;
+
+/**
+ * Collision layers used by the demo. Terrain only needs to be tested against the player.
+ */
+public final class Layers {
+    public static final int PLAYER = 1;
+    public static final int TERRAIN = 1 << 1;
+
+    private Layers() {
+    }
+}
@@ -7,7 +7,6 @@ import game.primitives.Block;
 import game.primitives.Spike;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 
@@ -17,11 +16,12 @@ import java.util.Random;
  * 
  * The generator tracks world-space coordinates that increase as the level
  * scrolls. New terrain is spawned at fixed world positions, while blocks
- * move left at a constant speed.
+ * move left at a constant speed. Blocks and spikes that scroll off-screen
+ * are released to the ObjectHandler pool and reused for the next columns.
  */
 public class LevelGenerator {
 
-    private final List<Long> obstacleIds = new ArrayList<>();
+    private final List<GameObject> obstacles = new ArrayList<>();
     private final Random random = new Random();
 
     // Configuration
@@ -65,10 +65,10 @@ public class LevelGenerator {
      * Clears all existing obstacles and resets generation state.
      */
     public void clear() {
-        for (long id : obstacleIds) {
-            ObjectHandler.removeObjectById(id);
+        for (GameObject obstacle : obstacles) {
+            obstacle.release();
         }
-        obstacleIds.clear();
+        obstacles.clear();
         resetState();
     }
 
@@ -142,15 +142,15 @@ public class LevelGenerator {
         int gridY = currentHeight;
 
         // Spawn the ground block
-        Block block = new Block(gridX, gridY, speed);
-        obstacleIds.add(block.getId());
+        Block block = ObjectHandler.obtain(Block.class, Block::new).place(gridX, gridY, speed);
+        obstacles.add(block);
 
         // Determine if we should spawn a spike
         boolean canSpawnSpike = !isIntro && currentPlateauRemaining > 1;
 
         if (canSpawnSpike && shouldSpawnSpike()) {
-            Spike spike = new Spike(gridX, gridY - 1, speed);
-            obstacleIds.add(spike.getId());
+            Spike spike = ObjectHandler.obtain(Spike.class, Spike::new).place(gridX, gridY - 1, speed);
+            obstacles.add(spike);
             consecutiveSpikes++;
             gapSinceLastSpike = 0;
         } else {
@@ -190,27 +190,19 @@ public class LevelGenerator {
     }
 
     /**
-     * Removes obstacles that have moved off-screen to the left.
+     * Releases obstacles that have moved off-screen to the left back to their pool.
      */
     private void despawnBehind() {
-        Iterator<Long> iterator = obstacleIds.iterator();
-        while (iterator.hasNext()) {
-            long id = iterator.next();
-            GameObject obj = ObjectHandler.getById(id);
-
-            if (obj == null) {
-                iterator.remove();
-                continue;
-            }
-
-            if (obj instanceof Transform transform) {
-                int x = transform.getX();
-                if (x < despawnX) {
-                    ObjectHandler.removeObjectById(id);
-                    iterator.remove();
-                }
+        int kept = 0;
+        for (int i = 0; i < obstacles.size(); i++) {
+            GameObject obstacle = obstacles.get(i);
+            if (((Transform) obstacle).x() < despawnX) {
+                obstacle.release();
+            } else {
+                obstacles.set(kept++, obstacle);
             }
         }
+        while (obstacles.size() > kept) obstacles.remove(obstacles.size() - 1);
     }
 
     /**
@@ -291,14 +283,16 @@ public class LevelGenerator {
      * Gets the list of all spawned obstacle IDs.
      */
     public List<Long> getObstacleIds() {
-        return new ArrayList<>(obstacleIds);
+        List<Long> ids = new ArrayList<>(obstacles.size());
+        for (GameObject obstacle : obstacles) ids.add(obstacle.getId());
+        return ids;
     }
 
     /**
      * Gets the current number of active obstacles.
      */
     public int getObstacleCount() {
-        return obstacleIds.size();
+        return obstacles.size();
     }
 
     /**
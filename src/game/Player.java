@@ -10,7 +10,7 @@ import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
 import java.util.List;
 
-public class Player extends GameObject implements ObjectRenderer, MouseButtonInput, MouseMovement, KeyboardInput, Collidable {
+public class Player extends GameObject implements ObjectRenderer, Interpolated, MouseButtonInput, MouseMovement, KeyboardInput, Collidable {
     private float x, y;
     private int jumpHeight;
     private float vy;
@@ -26,6 +26,9 @@ public class Player extends GameObject implements ObjectRenderer, MouseButtonInp
 
     Resource pop = new Resource("res/sound.wav");
 
+    private static final List<Collider> COLLIDERS =
+            List.of(new Collider.RectangleCollider(0, 0, 50, 50, "player"));
+
     public Player(Game game) {
         super();
         this.game = game;
@@ -81,7 +84,7 @@ public class Player extends GameObject implements ObjectRenderer, MouseButtonInp
             r += 4.4f * delta;
         }
 
-        // Reset frame-based ground detection (will be set by duringCollision)
+        // Reset frame-based ground detection (will be set by onContact)
         onGround = false;
         frameGroundHeight = 600;  // Reset to below screen
 
@@ -122,16 +125,28 @@ public class Player extends GameObject implements ObjectRenderer, MouseButtonInp
     }
 
     public Integer getX() {
-        return (int) x;
+        return x();
     }
     public Integer getY() {
-        return (int) y;
+        return y();
     }
     public Double getScale() {
-        return (double) scale;
+        return scale();
     }
     public Double getRotation() {
-        return (double) r;
+        return rotation();
+    }
+    public int x() {
+        return (int) x;
+    }
+    public int y() {
+        return (int) y;
+    }
+    public double scale() {
+        return scale;
+    }
+    public double rotation() {
+        return r;
     }
     public int getZDepth() {
         return 1;
@@ -147,12 +162,23 @@ public class Player extends GameObject implements ObjectRenderer, MouseButtonInp
         return vy;
     }
 
+    @Override
+    public float vy() {
+        return vy;
+    }
+
     @Override
     public Double getPivotX() { return 25d; }
 
     @Override
     public Double getPivotY() { return 25d; }
 
+    @Override
+    public double pivotX() { return 25; }
+
+    @Override
+    public double pivotY() { return 25; }
+
     public int getScore() {
         return score;
     }
@@ -162,7 +188,17 @@ public class Player extends GameObject implements ObjectRenderer, MouseButtonInp
     }
 
     public List<Collider> getColliders() {
-        return List.of(new Collider.RectangleCollider(0, 0, 50, 50, "player"));
+        return COLLIDERS;
+    }
+
+    @Override
+    public int getCollisionLayer() {
+        return Layers.PLAYER;
+    }
+
+    @Override
+    public int getCollisionMask() {
+        return Layers.TERRAIN;
     }
 
     @Override
@@ -171,18 +207,16 @@ public class Player extends GameObject implements ObjectRenderer, MouseButtonInp
     }
 
     @Override
-    public void duringCollision(GameObject other, float delta) {
-        if (other instanceof Collidable collidable) {
-            for (Collider collider : collidable.getColliders()) {
-                if (collider.getId().equals("ground")) {
-                    int otherY = ((Transform) other).getY();
-                    // Track the highest ground we're touching this frame
-                    if (otherY < frameGroundHeight) {
-                        frameGroundHeight = otherY;
-                    }
-                    onGround = true;
-                }
-            }
+    public void onContact(GameObject other, Contact contact) {
+        // Only ground pushing us up counts, hitting the side of a block doesn't
+        if (!contact.getOtherColliderId().equals("ground") || contact.getNormalY() >= 0) return;
+
+        // Bottom of our collider minus how far we are into the ground is its top
+        int otherY = Math.round(y() + 50 - contact.getDepth());
+        // Track the highest ground we're touching this frame
+        if (otherY < frameGroundHeight) {
+            frameGroundHeight = otherY;
         }
+        onGround = true;
     }
 }
@@ -5,24 +5,40 @@ import com.neutron.engine.ObjectHandler;
 import com.neutron.engine.Renderer;
 import com.neutron.engine.base.GameObject;
 import com.neutron.engine.base.interfaces.Collidable;
+import com.neutron.engine.base.interfaces.Interpolated;
 import com.neutron.engine.base.interfaces.ObjectRenderer;
 import com.neutron.engine.base.interfaces.Transform;
 import com.neutron.engine.func.Collider;
+import game.Layers;
 import game.Player;
 
 import java.awt.*;
 import java.util.List;
 
-public class Block extends GameObject implements Collidable, ObjectRenderer, Transform {
+public class Block extends GameObject implements Collidable, ObjectRenderer, Interpolated, Transform {
 
     private float x, y;
     private float vx;
     private boolean hasAwardedPoints = false;
 
+    private static final List<Collider> COLLIDERS = List.of(
+        new Collider.RectangleCollider(0,0, 50, 25, "ground"),
+        new Collider.RectangleCollider(0, 25, 50, 25, "death")
+    );
+
+    public Block() {
+    }
+
     public Block(int gridX, int gridY, float speed) {
+        place(gridX, gridY, speed);
+    }
+
+    /** Moves the block to a grid cell; used for fresh and pooled blocks alike. */
+    public final Block place(int gridX, int gridY, float speed) {
         this.x = gridX*50;
         this.y = gridY*50;
         this.vx = speed;
+        return this;
     }
 
     @Override
@@ -30,17 +46,21 @@ public class Block extends GameObject implements Collidable, ObjectRenderer, Tra
 
     }
 
+    @Override
+    public void onReuse(GameCore gameCore) {
+        hasAwardedPoints = false;
+    }
+
     @Override
     public void update(GameCore gameCore, float delta) {
         x -= vx * delta;
         
         // Award point when block passes the player
         if (!hasAwardedPoints) {
-            List<GameObject> players = ObjectHandler.get(Player.class);
-            if (!players.isEmpty()) {
-                Player player = (Player) players.getFirst();
+            Player player = ObjectHandler.first(Player.class);
+            if (player != null) {
                 // Block has passed player (right edge of block is behind player's left edge)
-                if (x + 50 < player.getX()) {
+                if (x + 50 < player.x()) {
                     player.incrementScore();
                     hasAwardedPoints = true;
                 }
@@ -61,15 +81,27 @@ public class Block extends GameObject implements Collidable, ObjectRenderer, Tra
 
     @Override
     public List<Collider> getColliders() {
-        return List.of(
-            new Collider.RectangleCollider(0,0, 50, 25, "ground"),
-            new Collider.RectangleCollider(0, 25, 50, 25, "death")
-        );
+        return COLLIDERS;
+    }
+
+    @Override
+    public int getCollisionLayer() {
+        return Layers.TERRAIN;
+    }
+
+    @Override
+    public int getCollisionMask() {
+        return Layers.PLAYER;
     }
 
     @Override
     public Float getVx() {
-        return vx;
+        return vx();
+    }
+
+    @Override
+    public float vx() {
+        return -vx; // moves left
     }
 
     @Override
@@ -84,11 +116,21 @@ public class Block extends GameObject implements Collidable, ObjectRenderer, Tra
 
     @Override
     public Integer getX() {
-        return (int) x;
+        return x();
     }
 
     @Override
     public Integer getY() {
+        return y();
+    }
+
+    @Override
+    public int x() {
+        return (int) x;
+    }
+
+    @Override
+    public int y() {
         return (int) y;
     }
 }
@@ -4,24 +4,46 @@ import com.neutron.engine.GameCore;
 import com.neutron.engine.Renderer;
 import com.neutron.engine.base.GameObject;
 import com.neutron.engine.base.interfaces.Collidable;
+import com.neutron.engine.base.interfaces.Interpolated;
 import com.neutron.engine.base.interfaces.ObjectRenderer;
 import com.neutron.engine.base.interfaces.Transform;
 import com.neutron.engine.func.Collider;
+import game.Layers;
 
 import java.awt.*;
 import java.util.List;
 
-public class Spike extends GameObject implements Collidable, ObjectRenderer, Transform {
+public class Spike extends GameObject implements Collidable, ObjectRenderer, Interpolated, Transform {
 
     private int x, y;
     private float vx;
 
-    private int SIZE = 50;
+    private static final int SIZE = 50;
+
+    // Approximated rectangular hitbox for now
+    private static final List<Collider> COLLIDERS = List.of(
+            new Collider.RectangleCollider(
+                    15,
+                    20,
+                    SIZE - 30,
+                    SIZE - 20,
+                    "death"
+            )
+    );
+
+    public Spike() {
+    }
 
     public Spike(int gridX, int gridY, float speed) {
+        place(gridX, gridY, speed);
+    }
+
+    /** Moves the spike to a grid cell; used for fresh and pooled spikes alike. */
+    public final Spike place(int gridX, int gridY, float speed) {
         this.x = gridX*50;
         this.y = gridY*50;
         this.vx = speed;
+        return this;
     }
 
     @Override
@@ -56,21 +78,27 @@ public class Spike extends GameObject implements Collidable, ObjectRenderer, Tra
 
     @Override
     public List<Collider> getColliders() {
-        // Approximated rectangular hitbox for now
-        return List.of(
-                new Collider.RectangleCollider(
-                        15,
-                        20,
-                        SIZE - 30,
-                        SIZE - 20,
-                        "death"
-                )
-        );
+        return COLLIDERS;
+    }
+
+    @Override
+    public int getCollisionLayer() {
+        return Layers.TERRAIN;
+    }
+
+    @Override
+    public int getCollisionMask() {
+        return Layers.PLAYER;
     }
 
     @Override
     public Float getVx() {
-        return vx;
+        return vx();
+    }
+
+    @Override
+    public float vx() {
+        return -vx; // moves left
     }
 
     @Override
@@ -85,11 +113,21 @@ public class Spike extends GameObject implements Collidable, ObjectRenderer, Tra
 
     @Override
     public Integer getX() {
-        return x;
+        return x();
     }
 
     @Override
     public Integer getY() {
+        return y();
+    }
+
+    @Override
+    public int x() {
+        return x;
+    }
+
+    @Override
+    public int y() {
         return y;
     }
 }